@@ -0,0 +1,29 @@
+package org.example;
+
+import java.util.Arrays;
+
+/** Seeded benchmark graphs from {@link GraphGenerator}, with default weights 1500..4000. */
+final class BenchmarkGraphs {
+    private BenchmarkGraphs() {}
+
+    static Graph randomGraph(int vertices, double density, long seed) {
+        return new GraphGenerator(seed).generate(1, vertices, GraphGenerator.edgesForDensity(vertices, density));
+    }
+
+    /** The graph's edges as fresh {u, v, weight} arrays. */
+    static int[][] edgeArrays(Graph graph) {
+        int m = graph.getEdgeCount();
+        int[][] edges = new int[3][m];
+        for (int i = 0; i < m; i++) {
+            edges[0][i] = graph.edgeU(i);
+            edges[1][i] = graph.edgeV(i);
+            edges[2][i] = graph.edgeWeight(i);
+        }
+        return edges;
+    }
+
+    static int[][] copy(int[][] edges) {
+        return new int[][]{Arrays.copyOf(edges[0], edges[0].length),
+                Arrays.copyOf(edges[1], edges[1].length), Arrays.copyOf(edges[2], edges[2].length)};
+    }
+}
@@ -0,0 +1,65 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/** The MST algorithms across the {@link GraphFamily} topologies at a fixed size. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GraphFamilyBenchmark {
+    @Param({"random", "grid", "geometric", "power_law", "complete", "path", "equal_weights"})
+    public String family;
+
+    @Param({"2000", "100000"})
+    public int vertices;
+
+    private Graph graph;
+
+    @Setup
+    public void setUp() {
+        GraphFamily f = GraphFamily.fromName(family);
+        // Keep the complete graph to about 2 million edges.
+        int v = f == GraphFamily.COMPLETE ? Math.min(vertices, 2000) : vertices;
+        graph = f.generate(new GraphGenerator(42), 1, v, GraphFamily.DEFAULT_AVERAGE_DEGREE);
+    }
+
+    private Metrics metrics(String name) {
+        return new Metrics(graph.getId(), graph.getVertices(), graph.getEdgeCount(), name, OperationCounter.disabled());
+    }
+
+    @Benchmark
+    public void prim(Blackhole bh) {
+        bh.consume(PrimMST.findMST(graph, metrics("Prim")).totalWeight);
+    }
+
+    @Benchmark
+    public void kruskal(Blackhole bh) {
+        bh.consume(KruskalMST.findMST(graph, metrics("Kruskal")).totalWeight);
+    }
+
+    @Benchmark
+    public void filterKruskal(Blackhole bh) {
+        bh.consume(FilterKruskalMST.findMST(graph, metrics("FilterKruskal")).totalWeight);
+    }
+
+    @Benchmark
+    public void boruvka(Blackhole bh) {
+        bh.consume(BoruvkaMST.findMST(graph, metrics("Boruvka")).totalWeight);
+    }
+}
@@ -0,0 +1,85 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/** Cost of getting a graph into memory: CSR construction, streaming JSON and mapped binary loads. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GraphLoadingBenchmark {
+    @Param({"500", "1000", "2000"})
+    public int vertices;
+
+    @Param({"0.05", "0.5"})
+    public double density;
+
+    private int[][] edges;
+    private Path dir;
+    private Path jsonFile;
+    private Path binaryFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Graph graph = BenchmarkGraphs.randomGraph(vertices, density, 42);
+        edges = BenchmarkGraphs.edgeArrays(graph);
+        String[] labels = GraphGenerator.labels(vertices);
+        dir = Files.createTempDirectory("mst-bench");
+        jsonFile = dir.resolve("input.json");
+        try (JsonGraphWriter writer = JsonGraphWriter.open(jsonFile, false)) {
+            writer.write(new GraphInput(graph, labels));
+        }
+        binaryFile = dir.resolve(BinaryGraphFormat.fileName(1));
+        BinaryGraphFormat.write(new GraphInput(graph, labels), binaryFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Graph constructFromArrays() {
+        // The constructor takes the arrays over, so give it fresh copies each time.
+        int[][] e = BenchmarkGraphs.copy(edges);
+        return new Graph(1, vertices, e[0], e[1], e[2]);
+    }
+
+    @Benchmark
+    public void streamJson(Blackhole bh) throws IOException {
+        try (JsonGraphReader reader = JsonGraphReader.open(jsonFile)) {
+            while (reader.hasNext()) bh.consume(reader.next());
+        }
+    }
+
+    @Benchmark
+    public void mapBinary(Blackhole bh) throws IOException {
+        GraphInput input = BinaryGraphFormat.map(binaryFile);
+        bh.consume(input.graph.adjacencyEnd(vertices - 1));
+        bh.consume(input);
+    }
+}
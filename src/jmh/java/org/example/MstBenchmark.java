@@ -0,0 +1,84 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/** Steady-state cost of each MST algorithm on a prebuilt graph. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MstBenchmark {
+    @Param({"500", "1000", "2000"})
+    public int vertices;
+
+    @Param({"0.05", "0.5"})
+    public double density;
+
+    /** {@code count} or {@code off}; the difference is the cost of the instrumentation. */
+    @Param({"count", "off"})
+    public String metrics;
+
+    private Graph graph;
+    private Supplier<OperationCounter> counters;
+
+    @Setup
+    public void setUp() {
+        graph = BenchmarkGraphs.randomGraph(vertices, density, 42);
+        counters = OperationCounter.forMode(metrics);
+    }
+
+    private Metrics metrics(String name) {
+        return new Metrics(graph.getId(), graph.getVertices(), graph.getEdgeCount(), name, counters.get());
+    }
+
+    @Benchmark
+    public void prim(Blackhole bh) {
+        PrimMST.Result r = PrimMST.findMST(graph, metrics("Prim"));
+        bh.consume(r.totalWeight);
+        bh.consume(r.parent);
+    }
+
+    @Benchmark
+    public void primDense(Blackhole bh) {
+        PrimMST.Result r = DensePrimMST.findMST(graph, metrics("Prim"));
+        bh.consume(r.totalWeight);
+        bh.consume(r.parent);
+    }
+
+    @Benchmark
+    public void kruskal(Blackhole bh) {
+        KruskalMST.Result r = KruskalMST.findMST(graph, metrics("Kruskal"));
+        bh.consume(r.totalWeight);
+        bh.consume(r.mstEdges);
+    }
+
+    @Benchmark
+    public void filterKruskal(Blackhole bh) {
+        KruskalMST.Result r = FilterKruskalMST.findMST(graph, metrics("FilterKruskal"));
+        bh.consume(r.totalWeight);
+        bh.consume(r.mstEdges);
+    }
+
+    @Benchmark
+    public void boruvka(Blackhole bh) {
+        KruskalMST.Result r = BoruvkaMST.findMST(graph, metrics("Boruvka"));
+        bh.consume(r.totalWeight);
+        bh.consume(r.mstEdges);
+    }
+}
@@ -0,0 +1,46 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Density-mode rendering of large graphs, without the PNG encoding. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Djava.awt.headless=true"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RenderBenchmark {
+    @Param({"100000", "1000000"})
+    public int edges;
+
+    @Param({"1", "4"})
+    public int stripes;
+
+    private Graph graph;
+    private List<Edge> mst;
+
+    @Setup
+    public void setUp() {
+        graph = new GraphGenerator(42).generate(1, edges / 8, edges);
+        mst = KruskalMST.findMST(graph, new Metrics(1, graph.getVertices(), edges, "Kruskal", OperationCounter.disabled())).mstEdges;
+    }
+
+    @Benchmark
+    public BufferedImage density() {
+        return GraphVisualizer.renderDensity(graph, mst, 2200, stripes);
+    }
+}
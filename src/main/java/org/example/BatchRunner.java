@@ -0,0 +1,330 @@
+package org.example;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs the selected MST algorithms over a sequence of graphs on an executor.
+ * Every (graph, algorithm) pair is its own task, and up
+ * to {@code maxInFlight} graphs are processed at once. Results are handed to the
+ * sink in input order, or in graph-id order with {@link #setOrderWindow}, so output
+ * files stay deterministic however the tasks interleave.
+ */
+public class BatchRunner {
+    public static class AlgorithmRun {
+        public final MstAlgorithm algorithm;
+        public final Metrics metrics;
+        public final int totalWeight;
+        /** The tree (or forest) the run reported. */
+        public final List<Edge> mstEdges;
+        /** Discarded runs before the measured ones timed in {@link Metrics#getLatency()}. */
+        public final int warmupIterations;
+
+        AlgorithmRun(MstAlgorithm algorithm, Metrics metrics, MstCache.Entry mst, int warmupIterations) {
+            this.algorithm = algorithm;
+            this.metrics = metrics;
+            this.totalWeight = mst.totalWeight;
+            this.mstEdges = mst.edges;
+            this.warmupIterations = warmupIterations;
+        }
+    }
+
+    public static class GraphResult {
+        public final int graphId;
+        public final int vertices;
+        public final int edges;
+        /** Vertex labels of the input graph, used for the tree's endpoints in output.json. */
+        public final String[] labels;
+        public final List<AlgorithmRun> runs;
+
+        GraphResult(int graphId, int vertices, int edges, String[] labels, List<AlgorithmRun> runs) {
+            this.graphId = graphId;
+            this.vertices = vertices;
+            this.edges = edges;
+            this.labels = labels;
+            this.runs = Collections.unmodifiableList(runs);
+        }
+    }
+
+    /** A finished result waiting in the id-order window; ties on graph id keep input order. */
+    private static final class Held implements Comparable<Held> {
+        final GraphResult result;
+        final long sequence;
+
+        Held(GraphResult result, long sequence) {
+            this.result = result;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Held o) {
+            int c = Integer.compare(result.graphId, o.result.graphId);
+            return c != 0 ? c : Long.compare(sequence, o.sequence);
+        }
+    }
+
+    private static final class Pending {
+        final Graph graph;
+        final String[] labels;
+        final List<Future<AlgorithmRun>> runs = new ArrayList<>();
+        long weightRange;
+        MstSolver.Choice choice;
+
+        Pending(GraphInput input) {
+            this.graph = input.graph;
+            this.labels = input.labels;
+        }
+    }
+
+    private final ExecutorService executor;
+    private final List<MstAlgorithm> algorithms;
+    private final int maxInFlight;
+    private final RenderService renderer;
+    private final Supplier<OperationCounter> counters;
+    private int orderWindow = 0;
+    private int warmupIterations = 0;
+    private int measuredIterations = 1;
+    private MstCache cache;
+    private MstSolver solver;
+    private boolean forest;
+
+    /** {@code renderer} draws each graph with its tree once the graph's runs complete, or is null for no images. */
+    public BatchRunner(ExecutorService executor, List<MstAlgorithm> algorithms, int maxInFlight, RenderService renderer) {
+        this(executor, algorithms, maxInFlight, renderer, OperationCounter::counting);
+    }
+
+    /** {@code counters} supplies a fresh counter for every (graph, algorithm) run. */
+    public BatchRunner(ExecutorService executor, List<MstAlgorithm> algorithms, int maxInFlight, RenderService renderer,
+                       Supplier<OperationCounter> counters) {
+        if (maxInFlight < 1) throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        this.executor = executor;
+        this.algorithms = new ArrayList<>(algorithms);
+        this.maxInFlight = maxInFlight;
+        this.renderer = renderer;
+        this.counters = counters;
+    }
+
+    /**
+     * Hands results to the sink in ascending graph-id order by holding up to {@code window}
+     * finished results back and releasing the smallest id first. Input whose ids are at most
+     * {@code window} places out of order comes out sorted; a graph further out of place is
+     * written as soon as it is released, after larger ids, and reported. Only results are
+     * held, not graphs. 0 (the default) hands results over in input order.
+     */
+    public BatchRunner setOrderWindow(int window) {
+        if (window < 0) throw new IllegalArgumentException("Order window must not be negative: " + window);
+        this.orderWindow = window;
+        return this;
+    }
+
+    /**
+     * Benchmark mode: every (graph, algorithm) pair runs {@code warmup} discarded times
+     * and then {@code iterations} measured times, and its metrics carry the timings of the
+     * measured runs. Pairs then run one after another on the calling thread instead of on
+     * the executor, so the timings do not include contention between tasks.
+     */
+    public BatchRunner setIterations(int warmup, int iterations) {
+        if (warmup < 0) throw new IllegalArgumentException("Warm-up iterations must not be negative: " + warmup);
+        if (iterations < 1) throw new IllegalArgumentException("Iterations must be positive: " + iterations);
+        this.warmupIterations = warmup;
+        this.measuredIterations = iterations;
+        return this;
+    }
+
+    /**
+     * Answers (graph, algorithm) pairs from {@code cache} when possible and stores fresh
+     * results in it. Benchmark mode always recomputes.
+     */
+    public BatchRunner setCache(MstCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * Runs only the algorithm {@code solver} picks for each graph instead of every selected
+     * one, and records its predicted time next to the measured one.
+     */
+    public BatchRunner setSolver(MstSolver solver) {
+        this.solver = solver;
+        return this;
+    }
+
+    /** Computes minimum spanning forests component by component, see {@link SpanningForest}. */
+    public BatchRunner setForest(boolean forest) {
+        this.forest = forest;
+        return this;
+    }
+
+    public void run(Iterator<GraphInput> inputs, Consumer<GraphResult> sink) throws InterruptedException, ExecutionException {
+        Deque<Pending> pending = new ArrayDeque<>();
+        PriorityQueue<Held> held = new PriorityQueue<>();
+        int[] lastId = {Integer.MIN_VALUE};
+        long received = 0;
+        try {
+            while (inputs.hasNext()) {
+                if (pending.size() >= maxInFlight) {
+                    held.add(new Held(complete(pending.removeFirst()), received++));
+                    if (held.size() > orderWindow) release(held, lastId, sink);
+                }
+                pending.addLast(submit(inputs.next()));
+            }
+            while (!pending.isEmpty()) {
+                held.add(new Held(complete(pending.removeFirst()), received++));
+                if (held.size() > orderWindow) release(held, lastId, sink);
+            }
+            while (!held.isEmpty()) release(held, lastId, sink);
+        } finally {
+            for (Pending p : pending) {
+                for (Future<AlgorithmRun> f : p.runs) f.cancel(true);
+            }
+        }
+    }
+
+    private void release(PriorityQueue<Held> held, int[] lastId, Consumer<GraphResult> sink) {
+        GraphResult result = held.poll().result;
+        if (orderWindow > 0 && result.graphId < lastId[0]) {
+            System.err.println("[BatchRunner] Graph " + result.graphId + " is more than " + orderWindow
+                    + " places out of id order, written after graph " + lastId[0]);
+        }
+        lastId[0] = Math.max(lastId[0], result.graphId);
+        sink.accept(result);
+    }
+
+    private Pending submit(GraphInput input) {
+        Graph graph = input.graph;
+        Pending p = new Pending(input);
+        // Forests are cached apart from plain runs, which span only vertex 0's component.
+        String digest = useCache() ? MstCache.graphDigest(graph) + (forest ? "/forest" : "") : null;
+        List<MstAlgorithm> selected = algorithms;
+        if (solver != null) {
+            p.choice = solver.choose(graph);
+            p.weightRange = p.choice.weightRange;
+            selected = Collections.singletonList(p.choice.algorithm);
+        } else {
+            p.weightRange = CostModel.weightRange(graph);
+        }
+        for (MstAlgorithm algorithm : selected) {
+            if (digest != null) {
+                p.runs.add(executor.submit(() -> runCached(algorithm, input, MstCache.key(digest, algorithm))));
+            } else if (benchmarking()) {
+                // One pair at a time on the calling thread, so no other task competes for the cores.
+                FutureTask<AlgorithmRun> run = new FutureTask<>(() -> runRepeated(algorithm, input));
+                run.run();
+                p.runs.add(run);
+            } else {
+                p.runs.add(executor.submit(() -> runRepeated(algorithm, input)));
+            }
+        }
+        return p;
+    }
+
+    private boolean useCache() {
+        return cache != null && !benchmarking();
+    }
+
+    private boolean benchmarking() {
+        return warmupIterations > 0 || measuredIterations > 1;
+    }
+
+    private AlgorithmRun runCached(MstAlgorithm algorithm, GraphInput input, String key) {
+        Metrics metrics = newMetrics(algorithm, input.graph);
+        MstCache.Entry mst = cache.get(key);
+        if (mst != null) {
+            metrics.markCached(mst);
+            if (forest) {
+                SpanningForest.Result summary = SpanningForest.summarize(input.graph, mst.edges);
+                metrics.setForest(summary.components, summary.singletons);
+            }
+            if (algorithm == MstAlgorithm.PRIM) metrics.setVariant(Prim.variant(input.graph));
+        } else {
+            mst = Main.solve(algorithm, input.graph, metrics, forest);
+            cache.put(key, mst);
+        }
+        return new AlgorithmRun(algorithm, metrics, mst, 0);
+    }
+
+    private AlgorithmRun runRepeated(MstAlgorithm algorithm, GraphInput input) {
+        Graph graph = input.graph;
+        for (int i = 0; i < warmupIterations; i++) {
+            Main.solve(algorithm, graph, newMetrics(algorithm, graph), forest);
+        }
+        LatencyHistogram latency = new LatencyHistogram();
+        Metrics metrics = null;
+        MstCache.Entry mst = null;
+        for (int i = 0; i < measuredIterations; i++) {
+            metrics = newMetrics(algorithm, graph);
+            mst = Main.solve(algorithm, graph, metrics, forest);
+            latency.record(metrics.getExecutionTimeMs());
+        }
+        if (benchmarking()) metrics.recordIterations(latency);
+        return new AlgorithmRun(algorithm, metrics, mst, warmupIterations);
+    }
+
+    private Metrics newMetrics(MstAlgorithm algorithm, Graph graph) {
+        return new Metrics(graph.getId(), graph.getVertices(), graph.getEdgeCount(),
+                algorithm.getDisplayName(), counters.get());
+    }
+
+    private GraphResult complete(Pending p) throws InterruptedException, ExecutionException {
+        List<AlgorithmRun> runs = new ArrayList<>();
+        for (Future<AlgorithmRun> f : p.runs) {
+            AlgorithmRun run = f.get();
+            run.metrics.setWeightRange(p.weightRange);
+            if (p.choice != null) MstSolver.record(run.metrics, p.choice);
+            runs.add(run);
+        }
+        if (renderer != null && !runs.isEmpty()) {
+            // Overlay the tree the first algorithm reported, so the image matches output.json
+            // even where tied weights allow several minimum spanning trees.
+            renderer.submit(p.graph, runs.get(0).mstEdges, "reports/graphs/graph_" + p.graph.getId() + ".png");
+        }
+        return new GraphResult(p.graph.getId(), p.graph.getVertices(), p.graph.getEdgeCount(), p.labels, runs);
+    }
+
+    /**
+     * Creates the executor for a batch run: {@code "platform"} is a fixed pool of
+     * {@code threads} threads, {@code "virtual"} uses one virtual thread per task
+     * (Java 21+, falling back to a platform pool on older runtimes).
+     */
+    public static ExecutorService newExecutor(String kind, int threads) {
+        if (threads < 1) throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        switch (kind) {
+            case "platform":
+                return Executors.newFixedThreadPool(threads, namedThreads());
+            case "virtual":
+                try {
+                    Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                    return (ExecutorService) factory.invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    System.err.println("[BatchRunner] Virtual threads need Java 21+, using " + threads + " platform threads");
+                    return Executors.newFixedThreadPool(threads, namedThreads());
+                }
+            default:
+                throw new IllegalArgumentException("Unknown executor: " + kind + " (expected platform or virtual)");
+        }
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "mst-batch-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
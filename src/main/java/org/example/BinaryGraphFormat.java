@@ -0,0 +1,234 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Compact binary graph file ({@code .mstg}) that can be memory-mapped straight into a
+ * {@link Graph} without parsing or copying. All values are little-endian 32-bit ints:
+ * <pre>
+ *   header (32 bytes): magic "MSTG", version, id, V, E, weight width in bytes, flags, reserved
+ *   edgeU[E] edgeV[E] edgeWeight[E]          packed edge list
+ *   adjOffsets[V + 1] adjTargets[2E] adjWeights[2E]   CSR adjacency
+ *   labels (flag bit 0): per vertex, byte length followed by UTF-8 bytes, padded to 4 bytes
+ * </pre>
+ * Each array section is mapped separately, so a section is limited to 2 GB
+ * (about 268 million edges per graph).
+ */
+public class BinaryGraphFormat {
+    public static final String EXTENSION = ".mstg";
+
+    private static final int MAGIC = 0x4753544D; // "MSTG" read as a little-endian int
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int WEIGHT_WIDTH = Integer.BYTES;
+    private static final int FLAG_LABELS = 1;
+
+    /** Writes {@code input} to {@code path}, replacing any existing file. */
+    public static void write(GraphInput input, Path path) throws IOException {
+        Graph graph = input.graph;
+        int vertices = graph.getVertices();
+        long m = graph.getEdgeCount();
+        byte[][] labelBytes = new byte[vertices][];
+        long labelsSize = 0;
+        for (int v = 0; v < vertices; v++) {
+            labelBytes[v] = input.labels[v].getBytes(StandardCharsets.UTF_8);
+            labelsSize += Integer.BYTES + pad(labelBytes[v].length);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(graph.getId()).putInt(vertices)
+                .putInt((int) m).putInt(WEIGHT_WIDTH).putInt(FLAG_LABELS).putInt(0);
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(header, 0);
+            long offset = HEADER_BYTES;
+            for (IntBuffer section : graph.storage()) {
+                long bytes = (long) section.limit() * Integer.BYTES;
+                MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, offset, bytes);
+                out.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(section);
+                offset += bytes;
+            }
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, offset, labelsSize);
+            out.order(ByteOrder.LITTLE_ENDIAN);
+            for (byte[] label : labelBytes) {
+                out.putInt(label.length);
+                out.put(label);
+                out.position(out.position() + pad(label.length) - label.length);
+            }
+        }
+    }
+
+    /** Maps the file at {@code path}; the returned graph reads directly from the mapping. */
+    public static GraphInput map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) { }
+            if (header.hasRemaining()) throw new IOException(path + ": truncated header");
+            header.flip();
+            if (header.getInt() != MAGIC) throw new IOException(path + ": not a binary graph file");
+            int version = header.getInt();
+            if (version != VERSION) throw new IOException(path + ": unsupported version " + version);
+            int id = header.getInt();
+            int vertices = header.getInt();
+            int m = header.getInt();
+            int weightWidth = header.getInt();
+            int flags = header.getInt();
+            if (weightWidth != WEIGHT_WIDTH) throw new IOException(path + ": unsupported weight width " + weightWidth);
+            if (vertices < 0 || m < 0) throw new IOException(path + ": corrupt header");
+
+            long offset = HEADER_BYTES;
+            int[] lengths = {m, m, m, vertices + 1, 2 * m, 2 * m};
+            IntBuffer[] sections = new IntBuffer[lengths.length];
+            for (int s = 0; s < lengths.length; s++) {
+                long bytes = (long) lengths[s] * Integer.BYTES;
+                if (offset + bytes > channel.size()) throw new IOException(path + ": truncated data");
+                sections[s] = channel.map(FileChannel.MapMode.READ_ONLY, offset, bytes)
+                        .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                offset += bytes;
+            }
+
+            validate(path, vertices, sections);
+
+            String[] labels = new String[vertices];
+            if ((flags & FLAG_LABELS) != 0) {
+                MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, offset, channel.size() - offset);
+                in.order(ByteOrder.LITTLE_ENDIAN);
+                for (int v = 0; v < vertices; v++) {
+                    int length = in.getInt();
+                    byte[] bytes = new byte[length];
+                    in.get(bytes);
+                    in.position(in.position() + pad(length) - length);
+                    labels[v] = new String(bytes, StandardCharsets.UTF_8);
+                }
+            } else {
+                for (int v = 0; v < vertices; v++) labels[v] = String.valueOf(v);
+            }
+
+            Graph graph = new Graph(id, vertices, sections[0], sections[1], sections[2],
+                    sections[3], sections[4], sections[5]);
+            return new GraphInput(graph, labels);
+        }
+    }
+
+    /**
+     * Checks once, in O(V + E), what the algorithms rely on without checking: endpoints and
+     * adjacency targets in [0, V) and offsets rising from 0 to 2E. A corrupt file then fails
+     * here instead of with an IndexOutOfBoundsException deep inside an algorithm.
+     */
+    private static void validate(Path path, int vertices, IntBuffer[] sections) throws IOException {
+        int m = sections[0].limit();
+        for (int i = 0; i < m; i++) {
+            int u = sections[0].get(i), v = sections[1].get(i);
+            if (u < 0 || u >= vertices || v < 0 || v >= vertices) {
+                throw new IOException(path + ": edge " + i + " has an endpoint outside 0.." + (vertices - 1));
+            }
+        }
+        IntBuffer offsets = sections[3];
+        if (offsets.get(0) != 0 || offsets.get(vertices) != 2 * m) throw new IOException(path + ": corrupt adjacency index");
+        for (int x = 0; x < vertices; x++) {
+            if (offsets.get(x) > offsets.get(x + 1)) {
+                throw new IOException(path + ": adjacency offsets decrease at vertex " + x);
+            }
+        }
+        IntBuffer targets = sections[4];
+        for (int i = 0; i < 2 * m; i++) {
+            int t = targets.get(i);
+            if (t < 0 || t >= vertices) throw new IOException(path + ": adjacency entry " + i + " outside 0.." + (vertices - 1));
+        }
+    }
+
+    /** Lists the binary graph files of {@code dir} in graph-id order (by file name). */
+    public static List<Path> list(Path dir) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + EXTENSION)) {
+            for (Path p : stream) files.add(p);
+        }
+        files.sort(Comparator.comparingInt(BinaryGraphFormat::idFromFileName).thenComparing(Path::toString));
+        return files;
+    }
+
+    /** Maps the files lazily, one per {@code next()} call. */
+    public static Iterator<GraphInput> iterate(List<Path> files) {
+        Iterator<Path> it = files.iterator();
+        return new Iterator<GraphInput>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public GraphInput next() {
+                try {
+                    return map(it.next());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /** Converts every graph in an input.json file to {@code <outDir>/graph_<id>.mstg}. */
+    public static int convert(Path inputJson, Path outDir) throws IOException {
+        Files.createDirectories(outDir);
+        int count = 0;
+        try (JsonGraphReader reader = JsonGraphReader.open(inputJson)) {
+            while (reader.hasNext()) {
+                GraphInput input = reader.next();
+                write(input, outDir.resolve(fileName(input.graph.getId())));
+                count++;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count;
+    }
+
+    public static String fileName(int graphId) {
+        return "graph_" + graphId + EXTENSION;
+    }
+
+    private static int idFromFileName(Path p) {
+        String name = p.getFileName().toString();
+        String digits = name.replaceAll("\\D+", "");
+        try {
+            return digits.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(digits);
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private static int pad(int length) {
+        return (length + 3) & ~3;
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: BinaryGraphFormat <input.json> <output-dir>");
+            return;
+        }
+        try {
+            int count = convert(Paths.get(args[0]), Paths.get(args[1]));
+            System.out.println("Converted " + count + " graphs to " + args[1]);
+        } catch (IOException e) {
+            System.err.println("Failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Parallel Borůvka. Each round scans the remaining edges in parallel to find the
+ * cheapest edge leaving every component, then contracts along those edges with a
+ * {@link ConcurrentDisjointSet}. Edges are ranked by (weight, index), so equal
+ * weights never close a cycle. Edges that fall inside a component are dropped
+ * from later rounds. Rounds and parallel work are reported through {@link Metrics}.
+ */
+public class BoruvkaMST {
+    private static final int CHUNK_SIZE = 1 << 12;
+    private static final long NONE = Long.MAX_VALUE;
+
+    public static KruskalMST.Result findMST(Graph graph, Metrics metrics) {
+        return findMST(graph, metrics, ForkJoinPool.commonPool());
+    }
+
+    public static KruskalMST.Result findMST(Graph graph, Metrics metrics, ForkJoinPool pool) {
+        metrics.startTimer();
+        int vertices = graph.getVertices();
+        int m = graph.getEdgeCount();
+        ConcurrentDisjointSet sets = new ConcurrentDisjointSet(vertices);
+        AtomicLongArray cheapest = new AtomicLongArray(vertices);
+        for (int v = 0; v < vertices; v++) cheapest.set(v, NONE);
+        boolean[] selected = new boolean[m];
+
+        int[] active = new int[m];
+        for (int i = 0; i < m; i++) active[i] = i;
+        int[] buffer = new int[m];
+        int activeCount = m;
+        int components = vertices;
+
+        while (components > 1 && activeCount > 0) {
+            metrics.incrementRound();
+
+            // Find the cheapest outgoing edge of every component, dropping internal edges.
+            final int[] scan = active;
+            final int[] kept = buffer;
+            final int scanCount = activeCount;
+            int edgeChunks = ForkJoinChunks.chunkCount(scanCount, CHUNK_SIZE);
+            int[] keptCounts = new int[edgeChunks];
+            ForkJoinChunks.forEach(pool, edgeChunks, c -> {
+                int from = c * CHUNK_SIZE, out = from;
+                for (int i = from, end = Math.min(scanCount, from + CHUNK_SIZE); i < end; i++) {
+                    int e = scan[i];
+                    int ru = sets.find(graph.edgeU(e));
+                    int rv = sets.find(graph.edgeV(e));
+                    if (ru == rv) continue;
+                    kept[out++] = e;
+                    long key = ((long) graph.edgeWeight(e) << 32) | e;
+                    lowerTo(cheapest, ru, key);
+                    lowerTo(cheapest, rv, key);
+                }
+                keptCounts[c] = out - from;
+            });
+            int next = 0;
+            for (int c = 0; c < edgeChunks; c++) {
+                System.arraycopy(kept, c * CHUNK_SIZE, scan, next, keptCounts[c]);
+                next += keptCounts[c];
+            }
+            metrics.addComparisons(2L * scanCount);
+            metrics.addParallelWork(scanCount);
+            activeCount = next;
+
+            // Contract along the selected edges.
+            int vertexChunks = ForkJoinChunks.chunkCount(vertices, CHUNK_SIZE);
+            int[] mergeCounts = new int[vertexChunks];
+            ForkJoinChunks.forEach(pool, vertexChunks, c -> {
+                int merges = 0;
+                for (int r = c * CHUNK_SIZE, end = Math.min(vertices, r + CHUNK_SIZE); r < end; r++) {
+                    long key = cheapest.get(r);
+                    if (key == NONE) continue;
+                    cheapest.set(r, NONE);
+                    int e = (int) key;
+                    if (sets.union(graph.edgeU(e), graph.edgeV(e))) {
+                        selected[e] = true;
+                        merges++;
+                    }
+                }
+                mergeCounts[c] = merges;
+            });
+            int merges = 0;
+            for (int count : mergeCounts) merges += count;
+            metrics.addUnions(merges);
+            metrics.addParallelWork(vertices);
+            if (merges == 0) break;
+            components -= merges;
+        }
+
+        int totalWeight = 0;
+        ArrayList<Edge> mstEdges = new ArrayList<>();
+        for (int e = 0; e < m; e++) {
+            if (selected[e]) {
+                totalWeight += graph.edgeWeight(e);
+                mstEdges.add(new Edge(graph.edgeU(e), graph.edgeV(e), graph.edgeWeight(e)));
+            }
+        }
+
+        metrics.stopTimer();
+        metrics.setTotalCost(totalWeight);
+        return new KruskalMST.Result(totalWeight, mstEdges, metrics);
+    }
+
+    private static void lowerTo(AtomicLongArray cheapest, int i, long key) {
+        long current;
+        while (key < (current = cheapest.get(i))) {
+            if (cheapest.compareAndSet(i, current, key)) return;
+        }
+    }
+}
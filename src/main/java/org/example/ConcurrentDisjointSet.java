@@ -0,0 +1,54 @@
+package org.example;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free union-find for parallel algorithms. Roots are linked with a CAS from
+ * the lower id to the higher id, which keeps the forest acyclic under contention,
+ * and finds halve paths with CAS so concurrent readers never see a broken chain.
+ */
+public class ConcurrentDisjointSet {
+    private final AtomicIntegerArray parent;
+
+    public ConcurrentDisjointSet(int size) {
+        this.parent = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) parent.set(i, i);
+    }
+
+    public int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int gp = parent.get(p);
+            if (p != gp) parent.compareAndSet(x, p, gp);
+            x = gp;
+        }
+    }
+
+    /** Links the sets containing {@code x} and {@code y}; returns false if they were already joined. */
+    public boolean union(int x, int y) {
+        while (true) {
+            int rx = find(x);
+            int ry = find(y);
+            if (rx == ry) return false;
+            if (rx > ry) {
+                int tmp = rx;
+                rx = ry;
+                ry = tmp;
+            }
+            if (parent.compareAndSet(rx, rx, ry)) return true;
+        }
+    }
+
+    public boolean connected(int x, int y) {
+        while (true) {
+            int rx = find(x);
+            int ry = find(y);
+            if (rx == ry) return true;
+            // rx is still a root, so no union raced in between the two finds.
+            if (parent.get(rx) == rx) return false;
+        }
+    }
+
+    public int size() { return parent.length(); }
+}
@@ -0,0 +1,263 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Predicts the running time of each MST algorithm from the shape of a graph. The time is
+ * modelled as a non-negative combination of the terms in {@link #features}: a constant,
+ * E, V log V, V² and E times the number of sort passes the weight range needs. Density
+ * enters through the E and V² terms. Prim is modelled per variant, because
+ * {@link Prim#findMST} switches between a heap and a matrix scan.
+ *
+ * <p>Coefficients are fitted from past {@code results.csv} rows; algorithms with fewer
+ * than {@link #MIN_SAMPLES} rows keep a rough built-in prior.
+ */
+public class CostModel {
+    static final int FEATURES = 5;
+    public static final int MIN_SAMPLES = 2 * FEATURES;
+
+    private static final int SORT_PASS_BITS = 8;
+    private static final int FIT_ITERATIONS = 500;
+
+    /** Built-in coefficients in ms per unit of each feature (features are in millions). */
+    private static final Map<String, double[]> PRIOR = new HashMap<>();
+
+    static {
+        PRIOR.put(key(MstAlgorithm.PRIM, "heap"), new double[]{0.01, 15, 50, 0, 0});
+        PRIOR.put(key(MstAlgorithm.PRIM, "dense"), new double[]{0.01, 5, 0, 3, 0});
+        PRIOR.put(key(MstAlgorithm.KRUSKAL, ""), new double[]{0.01, 15, 0, 0, 10});
+        PRIOR.put(key(MstAlgorithm.FILTER_KRUSKAL, ""), new double[]{0.01, 12, 0, 0, 5});
+        PRIOR.put(key(MstAlgorithm.BORUVKA, ""), new double[]{0.05, 25, 40, 0, 0});
+    }
+
+    private final Map<String, double[]> coefficients;
+    private final Map<String, Integer> samples;
+
+    private CostModel(Map<String, double[]> coefficients, Map<String, Integer> samples) {
+        this.coefficients = coefficients;
+        this.samples = samples;
+    }
+
+    /** The built-in model, before any calibration. */
+    public static CostModel prior() {
+        return new CostModel(new HashMap<>(PRIOR), new HashMap<>());
+    }
+
+    /**
+     * Fits the model to the uncached rows of a {@code results.csv}-format file. Columns are
+     * found by header name, so files written before a column was added still load;
+     * a missing {@code weight_range} counts as one sort pass. Returns the prior if the file
+     * does not exist.
+     */
+    public static CostModel fit(Path csv) throws IOException {
+        Map<String, List<double[]>> rows = new HashMap<>();
+        Map<String, List<Double>> times = new HashMap<>();
+        if (Files.exists(csv)) {
+            try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+                String headerLine = reader.readLine();
+                if (headerLine != null) {
+                    Columns columns = new Columns(headerLine, csv);
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] cells = line.split(",", -1);
+                        String key = columns.modelKey(cells);
+                        if (key == null) continue;
+                        rows.computeIfAbsent(key, k -> new ArrayList<>()).add(features(columns.vertices(cells),
+                                columns.edges(cells), columns.weightRange(cells)));
+                        times.computeIfAbsent(key, k -> new ArrayList<>()).add(columns.ms(cells));
+                    }
+                }
+            }
+        }
+        Map<String, double[]> coefficients = new HashMap<>(PRIOR);
+        Map<String, Integer> samples = new HashMap<>();
+        for (Map.Entry<String, List<double[]>> entry : rows.entrySet()) {
+            List<double[]> x = entry.getValue();
+            samples.put(entry.getKey(), x.size());
+            if (x.size() >= MIN_SAMPLES) {
+                coefficients.put(entry.getKey(), fitNonNegative(x, times.get(entry.getKey())));
+            }
+        }
+        return new CostModel(coefficients, samples);
+    }
+
+    /**
+     * Keeps only the last {@code rowsPerModel} rows of each model (an algorithm, and the
+     * variant for Prim) in a history file, so the file and every {@link #fit} of it stay
+     * bounded however many runs append to it. Rows {@link #fit} skips are dropped as well.
+     * The file is rewritten only when a row goes; returns the number of rows removed.
+     */
+    public static int trimHistory(Path csv, int rowsPerModel) throws IOException {
+        if (rowsPerModel < 1) throw new IllegalArgumentException("Rows per model must be positive: " + rowsPerModel);
+        if (!Files.exists(csv)) return 0;
+        List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+        if (lines.isEmpty()) return 0;
+        Columns columns = new Columns(lines.get(0), csv);
+        Map<String, Integer> kept = new HashMap<>();
+        boolean[] keep = new boolean[lines.size()];
+        int removed = 0;
+        // Newest rows are at the end.
+        for (int i = lines.size() - 1; i > 0; i--) {
+            String key = columns.modelKey(lines.get(i).split(",", -1));
+            if (key != null && kept.merge(key, 1, Integer::sum) <= rowsPerModel) {
+                keep[i] = true;
+            } else {
+                removed++;
+            }
+        }
+        if (removed == 0) return 0;
+        List<String> trimmed = new ArrayList<>(lines.size() - removed);
+        trimmed.add(lines.get(0));
+        for (int i = 1; i < lines.size(); i++) {
+            if (keep[i]) trimmed.add(lines.get(i));
+        }
+        Path tmp = csv.resolveSibling(csv.getFileName() + ".tmp");
+        Files.write(tmp, trimmed, StandardCharsets.UTF_8);
+        Files.move(tmp, csv, StandardCopyOption.REPLACE_EXISTING);
+        return removed;
+    }
+
+    /** Predicted time in milliseconds for {@code algorithm} on a graph of this shape. */
+    public double predictMs(MstAlgorithm algorithm, int vertices, long edges, long weightRange) {
+        double[] c = coefficients.get(key(algorithm, vertices, edges));
+        double[] f = features(vertices, edges, weightRange);
+        double ms = 0;
+        for (int j = 0; j < FEATURES; j++) ms += c[j] * f[j];
+        return ms;
+    }
+
+    /** Rows the coefficients of {@code algorithm} (and variant, for Prim) were fitted from; 0 means the prior. */
+    public int getSamples(MstAlgorithm algorithm, String variant) {
+        String key = key(algorithm, variant);
+        return samples.getOrDefault(key, 0) >= MIN_SAMPLES ? samples.get(key) : 0;
+    }
+
+    /** max - min + 1 over the edge weights, or 1 for an edgeless graph. */
+    public static long weightRange(Graph graph) {
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int i = 0, E = graph.getEdgeCount(); i < E; i++) {
+            int w = graph.edgeWeight(i);
+            if (w < min) min = w;
+            if (w > max) max = w;
+        }
+        return graph.getEdgeCount() == 0 ? 1 : (long) max - min + 1;
+    }
+
+    static double[] features(int vertices, long edges, long weightRange) {
+        double V = vertices, E = edges;
+        int passes = EdgeSorter.chooseStrategy(weightRange, (int) Math.min(Integer.MAX_VALUE, edges)) == EdgeSorter.Strategy.COUNTING
+                ? 1
+                : (64 - Long.numberOfLeadingZeros(Math.max(1, weightRange - 1)) + SORT_PASS_BITS - 1) / SORT_PASS_BITS;
+        return new double[]{
+                1,
+                E / 1e6,
+                V * (Math.log(V + 1) / Math.log(2)) / 1e6,
+                V * V / 1e6,
+                E * passes / 1e6
+        };
+    }
+
+    /** Column positions of a {@code results.csv}-format file, found by header name. */
+    private static final class Columns {
+        final int count, vertices, edges, algorithm, time, cached, weightRange;
+
+        Columns(String headerLine, Path csv) throws IOException {
+            List<String> header = Arrays.asList(headerLine.trim().split(","));
+            count = header.size();
+            vertices = header.indexOf("vertices");
+            edges = header.indexOf("edges");
+            algorithm = header.indexOf("algorithm");
+            time = header.contains("median_ms") ? header.indexOf("median_ms") : header.indexOf("execution_time_ms");
+            cached = header.indexOf("cached");
+            weightRange = header.indexOf("weight_range");
+            if (vertices < 0 || edges < 0 || algorithm < 0 || time < 0) {
+                throw new IOException("Not a results.csv file: " + csv);
+            }
+        }
+
+        /** The model a row is fitted into, or null for rows without a usable measurement. */
+        String modelKey(String[] cells) {
+            if (cells.length < count) return null;
+            if (cached >= 0 && Boolean.parseBoolean(cells[cached])) return null;
+            MstAlgorithm a;
+            try {
+                a = MstAlgorithm.fromName(cells[algorithm]);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            return ms(cells) > 0 ? key(a, vertices(cells), edges(cells)) : null;
+        }
+
+        int vertices(String[] cells) { return Integer.parseInt(cells[vertices]); }
+        long edges(String[] cells) { return Long.parseLong(cells[edges]); }
+        double ms(String[] cells) { return Double.parseDouble(cells[time]); }
+
+        /** A missing {@code weight_range} counts as one sort pass. */
+        long weightRange(String[] cells) {
+            return weightRange >= 0 && !cells[weightRange].isEmpty() ? Long.parseLong(cells[weightRange]) : 1;
+        }
+    }
+
+    private static String key(MstAlgorithm algorithm, int vertices, long edges) {
+        return key(algorithm, algorithm == MstAlgorithm.PRIM ? Prim.variant(vertices, edges) : "");
+    }
+
+    private static String key(MstAlgorithm algorithm, String variant) {
+        return variant.isEmpty() ? algorithm.getJsonKey() : algorithm.getJsonKey() + ":" + variant;
+    }
+
+    /**
+     * Least squares with every coefficient kept at or above zero, by cyclic coordinate
+     * descent on the normal equations. Features are scaled to unit norm first so one step
+     * size fits all of them.
+     */
+    static double[] fitNonNegative(List<double[]> x, List<Double> y) {
+        double[] norm = new double[FEATURES];
+        for (double[] row : x) {
+            for (int j = 0; j < FEATURES; j++) norm[j] += row[j] * row[j];
+        }
+        for (int j = 0; j < FEATURES; j++) norm[j] = norm[j] > 0 ? Math.sqrt(norm[j]) : 1;
+
+        double[][] h = new double[FEATURES][FEATURES];
+        double[] g = new double[FEATURES];
+        for (int i = 0; i < x.size(); i++) {
+            double[] row = x.get(i);
+            for (int a = 0; a < FEATURES; a++) {
+                g[a] += row[a] / norm[a] * y.get(i);
+                for (int b = 0; b < FEATURES; b++) h[a][b] += row[a] / norm[a] * row[b] / norm[b];
+            }
+        }
+
+        double[] c = new double[FEATURES];
+        for (int iteration = 0; iteration < FIT_ITERATIONS; iteration++) {
+            for (int j = 0; j < FEATURES; j++) {
+                if (h[j][j] == 0) continue;
+                double gradient = -g[j];
+                for (int k = 0; k < FEATURES; k++) gradient += h[j][k] * c[k];
+                c[j] = Math.max(0, c[j] - gradient / h[j][j]);
+            }
+        }
+        for (int j = 0; j < FEATURES; j++) c[j] /= norm[j];
+        return c;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("CostModel{");
+        coefficients.keySet().stream().sorted().forEach(key -> sb.append(key)
+                .append(samples.getOrDefault(key, 0) >= MIN_SAMPLES ? "=fitted(" + samples.get(key) + ")" : "=prior")
+                .append(", "));
+        sb.setLength(sb.length() - 2);
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,189 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Prim's algorithm over an adjacency matrix, O(V²) with no heap. Each step scans the
+ * vertices not yet in the tree for the smallest key, then relaxes them along one matrix
+ * row, so the scans are branch-light and stay within one row. Beats the heap-based {@link PrimMST} once the graph
+ * is dense enough (see {@link #prefers(int, long)}). Weights are stored as {@code char}
+ * when they fit in 0..65534, else as {@code int}; the largest value of the type marks a
+ * missing edge.
+ */
+public class DensePrimMST {
+    /** E / V² from which the matrix scan beats the heap; measured with MstBenchmark, see README. */
+    public static final double DENSITY_THRESHOLD = 0.15;
+    /** Largest graph the matrix is built for: 4096² char weights take 32 MB. */
+    public static final int MAX_VERTICES = 1 << 12;
+
+    private static final int NO_CHAR_EDGE = Character.MAX_VALUE;
+    private static final int NO_INT_EDGE = Integer.MAX_VALUE;
+
+    /** True when {@link #findMST} is expected to beat the heap-based Prim on a graph of this shape. */
+    public static boolean prefers(int vertices, long edges) {
+        return vertices > 1 && vertices <= MAX_VERTICES && density(vertices, edges) >= DENSITY_THRESHOLD;
+    }
+
+    public static double density(int vertices, long edges) {
+        return vertices == 0 ? 0 : edges / ((double) vertices * vertices);
+    }
+
+    /**
+     * Spans the component of vertex 0, like {@link PrimMST#findMST(Graph, Metrics)}.
+     * Parallel edges keep their lightest weight and self-loops are ignored.
+     */
+    public static PrimMST.Result findMST(Graph graph, Metrics metrics) {
+        int vertices = graph.getVertices();
+        if (vertices > MAX_VERTICES) {
+            throw new IllegalArgumentException("Too many vertices for a weight matrix: " + vertices);
+        }
+        metrics.startTimer();
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int i = 0, E = graph.getEdgeCount(); i < E; i++) {
+            int w = graph.edgeWeight(i);
+            min = Math.min(min, w);
+            max = Math.max(max, w);
+        }
+        int[] parent = new int[vertices];
+        int[] parentWeight = new int[vertices];
+        Arrays.fill(parent, -1);
+        WeightMatrix matrix;
+        if (min >= 0 && max < NO_CHAR_EDGE) {
+            matrix = new CharMatrix(graph);
+        } else if (max < NO_INT_EDGE) {
+            matrix = new IntMatrix(graph);
+        } else {
+            // A weight equal to the sentinel cannot be stored; fall back to the heap.
+            metrics.stopTimer();
+            metrics.setVariant(Prim.HEAP);
+            return PrimMST.findMST(graph, metrics);
+        }
+        int totalWeight = span(matrix, vertices, parent, parentWeight, metrics);
+
+        metrics.stopTimer();
+        metrics.setTotalCost(totalWeight);
+        return new PrimMST.Result(totalWeight, parent, parentWeight, metrics);
+    }
+
+    /**
+     * A row-major weight matrix whose element type's largest value marks a missing edge.
+     * Only the relaxation loop reads the elements, so it is the one part written per type.
+     */
+    private abstract static class WeightMatrix {
+        final int noEdge;
+
+        WeightMatrix(int noEdge) {
+            this.noEdge = noEdge;
+        }
+
+        /** Lowers {@code key[i]} to the weight of edge (u, remaining[i]) where lighter, for i < n. */
+        abstract void relax(int u, int[] remaining, int[] key, int[] from, int n);
+    }
+
+    // Both matrices are filled row by row from the CSR adjacency, so writes stay within one row at a time.
+
+    private static final class CharMatrix extends WeightMatrix {
+        final int V;
+        final char[] weights;
+
+        CharMatrix(Graph graph) {
+            super(NO_CHAR_EDGE);
+            V = graph.getVertices();
+            weights = new char[V * V];
+            Arrays.fill(weights, (char) NO_CHAR_EDGE);
+            for (int u = 0; u < V; u++) {
+                int row = u * V;
+                for (int i = graph.adjacencyStart(u), end = graph.adjacencyEnd(u); i < end; i++) {
+                    int v = graph.adjacentVertex(i);
+                    char w = (char) graph.adjacentWeight(i);
+                    if (v != u && w < weights[row + v]) weights[row + v] = w;
+                }
+            }
+        }
+
+        @Override
+        void relax(int u, int[] remaining, int[] key, int[] from, int n) {
+            int row = u * V;
+            for (int i = 0; i < n; i++) {
+                int w = weights[row + remaining[i]];
+                if (w < key[i]) {
+                    key[i] = w;
+                    from[i] = u;
+                }
+            }
+        }
+    }
+
+    private static final class IntMatrix extends WeightMatrix {
+        final int V;
+        final int[] weights;
+
+        IntMatrix(Graph graph) {
+            super(NO_INT_EDGE);
+            V = graph.getVertices();
+            weights = new int[V * V];
+            Arrays.fill(weights, NO_INT_EDGE);
+            for (int u = 0; u < V; u++) {
+                int row = u * V;
+                for (int i = graph.adjacencyStart(u), end = graph.adjacencyEnd(u); i < end; i++) {
+                    int v = graph.adjacentVertex(i);
+                    int w = graph.adjacentWeight(i);
+                    if (v != u && w < weights[row + v]) weights[row + v] = w;
+                }
+            }
+        }
+
+        @Override
+        void relax(int u, int[] remaining, int[] key, int[] from, int n) {
+            int row = u * V;
+            for (int i = 0; i < n; i++) {
+                int w = weights[row + remaining[i]];
+                if (w < key[i]) {
+                    key[i] = w;
+                    from[i] = u;
+                }
+            }
+        }
+    }
+
+    /**
+     * Vertices not yet in the tree are kept compact in remaining[0..n), with their keys and
+     * candidate parents in the parallel arrays, so both scans are contiguous and shrink as the
+     * tree grows.
+     */
+    private static int span(WeightMatrix matrix, int V, int[] parent, int[] parentWeight, Metrics metrics) {
+        int[] remaining = new int[V];
+        int[] key = new int[V];
+        int[] from = new int[V];
+        for (int v = 0; v < V; v++) remaining[v] = v;
+        Arrays.fill(key, matrix.noEdge);
+        Arrays.fill(parentWeight, -1);
+        key[0] = 0;
+        from[0] = -1;
+        int n = V;
+        int totalWeight = 0;
+        while (n > 0) {
+            int best = 0, bestKey = key[0];
+            for (int i = 1; i < n; i++) {
+                if (key[i] < bestKey) {
+                    best = i;
+                    bestKey = key[i];
+                }
+            }
+            if (bestKey == matrix.noEdge) break; // the rest is unreachable from vertex 0
+            int u = remaining[best];
+            parent[u] = from[best];
+            if (from[best] != -1) parentWeight[u] = bestKey;
+            totalWeight += bestKey;
+            n--;
+            remaining[best] = remaining[n];
+            key[best] = key[n];
+            from[best] = from[n];
+            metrics.incrementPQOperation();
+            metrics.addComparisons(2L * n);
+
+            matrix.relax(u, remaining, key, from, n);
+        }
+        return totalWeight;
+    }
+}
@@ -0,0 +1,71 @@
+package org.example;
+
+/**
+ * Union-find over {@code 0..size-1} with union by rank and iterative path halving,
+ * so no recursion depth grows with the input. Counts finds and successful unions
+ * for reporting through {@link Metrics}.
+ */
+public class DisjointSet {
+    private final int[] parent;
+    private final byte[] rank;
+    private int components;
+    private long findCount;
+    private long unionCount;
+
+    public DisjointSet(int size) {
+        this.parent = new int[size];
+        this.rank = new byte[size];
+        this.components = size;
+        for (int i = 0; i < size; i++) parent[i] = i;
+    }
+
+    public int find(int x) {
+        findCount++;
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Returns the root of {@code x} without compressing the path or counting the call.
+     * Safe for concurrent readers as long as no union runs at the same time.
+     */
+    public int root(int x) {
+        while (parent[x] != x) {
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /** Links the sets containing {@code x} and {@code y}; returns false if they were already joined. */
+    public boolean union(int x, int y) {
+        return unionRoots(find(x), find(y));
+    }
+
+    /** Links two roots previously returned by {@link #find(int)}. */
+    public boolean unionRoots(int rootX, int rootY) {
+        if (rootX == rootY) return false;
+        if (rank[rootX] < rank[rootY]) {
+            parent[rootX] = rootY;
+        } else if (rank[rootX] > rank[rootY]) {
+            parent[rootY] = rootX;
+        } else {
+            parent[rootY] = rootX;
+            rank[rootX]++;
+        }
+        components--;
+        unionCount++;
+        return true;
+    }
+
+    public boolean connected(int x, int y) {
+        return find(x) == find(y);
+    }
+
+    public int size() { return parent.length; }
+    public int getComponents() { return components; }
+    public long getFindCount() { return findCount; }
+    public long getUnionCount() { return unionCount; }
+}
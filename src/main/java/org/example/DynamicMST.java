@@ -0,0 +1,286 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimum spanning forest maintained under edge insertions and weight decreases,
+ * seeded from an existing MST instead of recomputing from scratch.
+ * <p>
+ * The forest is a link-cut tree in which every tree edge is a node of its own between
+ * its two endpoints, so a path query returns the heaviest edge between two vertices.
+ * A new edge (u, v, w) joins two components directly; inside one component it replaces
+ * the heaviest edge on the u–v path if that edge is heavier than w. Every update costs
+ * amortized O(log V).
+ * <p>
+ * Only tree edges are stored, so weight increases (which would need the discarded
+ * non-tree edges to find a replacement) are not supported. Edges are identified by their
+ * endpoints, as in the generated inputs, which have no parallel edges. Not thread-safe.
+ */
+public class DynamicMST {
+    private static final int NONE = -1;
+
+    private final int vertices;
+
+    // Link-cut tree over nodes 0..V-1 (vertices) and V..2V-2 (tree-edge slots).
+    private final int[] left;
+    private final int[] right;
+    private final int[] parent;
+    private final boolean[] flipped;
+    private final int[] weight;
+    private final int[] heaviest; // node with the largest weight in the splay subtree
+    private int[] pushStack = new int[16];
+
+    // Endpoints of the edge held by each edge slot, and the slot of each tree edge by endpoint pair.
+    private final int[] slotU;
+    private final int[] slotV;
+    private final Map<Long, Integer> slotOf = new HashMap<>();
+    private final int[] freeSlots;
+    private int freeCount;
+
+    private long totalWeight;
+
+    public DynamicMST(Graph graph, KruskalMST.Result seed) {
+        this(graph.getVertices(), seed.mstEdges);
+    }
+
+    /** Starts from {@code forest}, which must be a minimum spanning forest of the current graph. */
+    public DynamicMST(int vertices, List<Edge> forest) {
+        this.vertices = vertices;
+        int nodes = vertices + Math.max(0, vertices - 1);
+        left = new int[nodes];
+        right = new int[nodes];
+        parent = new int[nodes];
+        flipped = new boolean[nodes];
+        weight = new int[nodes];
+        heaviest = new int[nodes];
+        slotU = new int[nodes];
+        slotV = new int[nodes];
+        freeSlots = new int[nodes - vertices];
+        for (int x = 0; x < nodes; x++) {
+            left[x] = right[x] = parent[x] = NONE;
+            weight[x] = Integer.MIN_VALUE;
+            heaviest[x] = x;
+        }
+        for (int s = nodes - 1; s >= vertices; s--) freeSlots[freeCount++] = s;
+
+        for (Edge e : forest) {
+            checkVertex(e.u);
+            checkVertex(e.v);
+            if (e.u == e.v || connected(e.u, e.v)) {
+                throw new IllegalArgumentException("Seed edges contain a cycle at " + e);
+            }
+            addTreeEdge(e.u, e.v, e.weight);
+        }
+    }
+
+    /**
+     * Adds edge (u, v) with the given weight to the graph.
+     * Returns true if the spanning forest changed.
+     */
+    public boolean insertEdge(int u, int v, int w) {
+        checkVertex(u);
+        checkVertex(v);
+        if (u == v) return false;
+        if (!connected(u, v)) {
+            addTreeEdge(u, v, w);
+            return true;
+        }
+        int max = pathMaxNode(u, v);
+        if (weight[max] <= w) return false;
+        removeTreeEdge(max);
+        addTreeEdge(u, v, w);
+        return true;
+    }
+
+    /**
+     * Lowers the weight of edge (u, v) to {@code w}. A tree edge stays in the forest with
+     * its new weight; any other edge is treated as a fresh insertion.
+     * Returns true if the set of forest edges changed.
+     */
+    public boolean decreaseWeight(int u, int v, int w) {
+        checkVertex(u);
+        checkVertex(v);
+        Integer slot = slotOf.get(key(u, v));
+        if (slot == null) return insertEdge(u, v, w);
+        if (w > weight[slot]) {
+            throw new IllegalArgumentException("Weight of tree edge " + u + "-" + v + " cannot increase ("
+                    + weight[slot] + " -> " + w + ")");
+        }
+        splay(slot);
+        totalWeight += (long) w - weight[slot];
+        weight[slot] = w;
+        pull(slot);
+        return false;
+    }
+
+    public boolean connected(int u, int v) {
+        return u == v || findRoot(u) == findRoot(v);
+    }
+
+    /** Heaviest edge weight on the tree path between two connected vertices. */
+    public int maxWeightOnPath(int u, int v) {
+        if (u == v || !connected(u, v)) throw new IllegalArgumentException(u + " and " + v + " are not joined by a path");
+        return weight[pathMaxNode(u, v)];
+    }
+
+    public long getTotalWeight() { return totalWeight; }
+    public int getEdgeCount() { return slotOf.size(); }
+    public int getVertices() { return vertices; }
+
+    /** The current forest edges, in no particular order. */
+    public ArrayList<Edge> getEdges() {
+        ArrayList<Edge> edges = new ArrayList<>(slotOf.size());
+        for (int slot : slotOf.values()) edges.add(new Edge(slotU[slot], slotV[slot], weight[slot]));
+        return edges;
+    }
+
+    private void addTreeEdge(int u, int v, int w) {
+        int slot = freeSlots[--freeCount];
+        slotU[slot] = u;
+        slotV[slot] = v;
+        weight[slot] = w;
+        heaviest[slot] = slot;
+        slotOf.put(key(u, v), slot);
+        link(u, slot);
+        link(slot, v);
+        totalWeight += w;
+    }
+
+    private void removeTreeEdge(int slot) {
+        cut(slotU[slot], slot);
+        cut(slot, slotV[slot]);
+        slotOf.remove(key(slotU[slot], slotV[slot]));
+        totalWeight -= weight[slot];
+        weight[slot] = Integer.MIN_VALUE;
+        heaviest[slot] = slot;
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int pathMaxNode(int u, int v) {
+        makeRoot(u);
+        access(v);
+        return heaviest[v];
+    }
+
+    private void checkVertex(int x) {
+        if (x < 0 || x >= vertices) throw new IndexOutOfBoundsException("Vertex " + x + " outside 0.." + (vertices - 1));
+    }
+
+    private static long key(int u, int v) {
+        return u < v ? ((long) u << 32) | v : ((long) v << 32) | u;
+    }
+
+    // ---- link-cut tree ----
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NONE || (left[p] != x && right[p] != x);
+    }
+
+    private void pull(int x) {
+        int best = x;
+        int l = left[x], r = right[x];
+        if (l != NONE && weight[heaviest[l]] > weight[best]) best = heaviest[l];
+        if (r != NONE && weight[heaviest[r]] > weight[best]) best = heaviest[r];
+        heaviest[x] = best;
+    }
+
+    private void push(int x) {
+        if (!flipped[x]) return;
+        int l = left[x];
+        left[x] = right[x];
+        right[x] = l;
+        if (left[x] != NONE) flipped[left[x]] ^= true;
+        if (right[x] != NONE) flipped[right[x]] ^= true;
+        flipped[x] = false;
+    }
+
+    private void rotate(int x) {
+        int p = parent[x], g = parent[p];
+        boolean pWasRoot = isSplayRoot(p);
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NONE) parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NONE) parent[left[x]] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        parent[x] = g;
+        if (!pWasRoot) {
+            if (left[g] == p) left[g] = x;
+            else right[g] = x;
+        }
+        pull(p);
+        pull(x);
+    }
+
+    private void splay(int x) {
+        int depth = 0;
+        for (int y = x; ; y = parent[y]) {
+            if (depth == pushStack.length) pushStack = Arrays.copyOf(pushStack, depth * 2);
+            pushStack[depth++] = y;
+            if (isSplayRoot(y)) break;
+        }
+        while (depth > 0) push(pushStack[--depth]);
+
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                rotate((left[g] == p) == (left[p] == x) ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void access(int x) {
+        int last = NONE;
+        for (int y = x; y != NONE; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            pull(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private void makeRoot(int x) {
+        access(x);
+        flipped[x] ^= true;
+        push(x);
+    }
+
+    private int findRoot(int x) {
+        access(x);
+        int r = x;
+        push(r);
+        while (left[r] != NONE) {
+            r = left[r];
+            push(r);
+        }
+        splay(r);
+        return r;
+    }
+
+    private void link(int x, int y) {
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    /** Cuts the tree edge between adjacent nodes {@code x} and {@code y}. */
+    private void cut(int x, int y) {
+        makeRoot(x);
+        access(y);
+        // x is now y's only left descendant on the preferred path.
+        left[y] = NONE;
+        parent[x] = NONE;
+        pull(y);
+    }
+}
@@ -0,0 +1,146 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Stable O(E) ordering of a graph's edges by weight for Kruskal-style algorithms.
+ * Small weight ranges use a counting sort over the weights; wider ranges use an
+ * LSD radix sort over packed {@code (weight - min) << 32 | edgeIndex} keys, with
+ * only as many 8-bit passes as the observed range needs. Equal weights keep
+ * their input order, matching a stable comparison sort.
+ * <p>
+ * {@link #sortByWeightOffHeap} does the same into direct buffers, so sorting an
+ * off-heap graph does not need O(E) heap.
+ */
+public class EdgeSorter {
+    public enum Strategy { COUNTING, RADIX }
+
+    /** Widest weight range handled by the counting sort (one int bucket per weight). */
+    static final int COUNTING_SORT_MAX_RANGE = 1 << 16;
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    /** Returns the edge indices of {@code graph} ordered by ascending weight. */
+    public static int[] sortByWeight(Graph graph) {
+        int m = graph.getEdgeCount();
+        if (m == 0) return new int[0];
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int i = 0; i < m; i++) {
+            int w = graph.edgeWeight(i);
+            if (w < min) min = w;
+            if (w > max) max = w;
+        }
+        long range = (long) max - min + 1;
+        if (chooseStrategy(range, m) == Strategy.COUNTING) {
+            return countingSort(graph, min, (int) range);
+        }
+        return radixSort(graph, min, range);
+    }
+
+    /** {@link #sortByWeight} with the order, and the radix sort's keys, in direct buffers. */
+    public static IntBuffer sortByWeightOffHeap(Graph graph) {
+        int m = graph.getEdgeCount();
+        IntBuffer order = OffHeapGraphBuilder.allocate(m);
+        if (m == 0) return order;
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int i = 0; i < m; i++) {
+            int w = graph.edgeWeight(i);
+            if (w < min) min = w;
+            if (w > max) max = w;
+        }
+        long range = (long) max - min + 1;
+        if (chooseStrategy(range, m) == Strategy.COUNTING) {
+            int[] start = bucketStarts(graph, min, (int) range);
+            for (int i = 0; i < m; i++) {
+                order.put(start[graph.edgeWeight(i) - min]++, i);
+            }
+            return order;
+        }
+        LongBuffer keys = radixSort(graph, min, range, allocateLongs(m), allocateLongs(m));
+        for (int i = 0; i < m; i++) {
+            order.put(i, (int) keys.get(i));
+        }
+        return order;
+    }
+
+    /** Counting sort wins while the bucket array is no larger than the edge list. */
+    public static Strategy chooseStrategy(long weightRange, int edgeCount) {
+        if (weightRange <= COUNTING_SORT_MAX_RANGE && weightRange <= Math.max(edgeCount, RADIX)) {
+            return Strategy.COUNTING;
+        }
+        return Strategy.RADIX;
+    }
+
+    private static int[] countingSort(Graph graph, int min, int range) {
+        int m = graph.getEdgeCount();
+        int[] start = bucketStarts(graph, min, range);
+        int[] order = new int[m];
+        for (int i = 0; i < m; i++) {
+            order[start[graph.edgeWeight(i) - min]++] = i;
+        }
+        return order;
+    }
+
+    /** First position of each weight bucket in the sorted order. */
+    private static int[] bucketStarts(Graph graph, int min, int range) {
+        int m = graph.getEdgeCount();
+        int[] start = new int[range + 1];
+        for (int i = 0; i < m; i++) {
+            start[graph.edgeWeight(i) - min + 1]++;
+        }
+        for (int b = 0; b < range; b++) {
+            start[b + 1] += start[b];
+        }
+        return start;
+    }
+
+    private static LongBuffer allocateLongs(int longs) {
+        if (longs > Integer.MAX_VALUE / Long.BYTES) throw new IllegalArgumentException("Too large for one direct buffer: " + longs + " longs");
+        return ByteBuffer.allocateDirect(longs * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+
+    private static int[] radixSort(Graph graph, int min, long range) {
+        int m = graph.getEdgeCount();
+        LongBuffer keys = radixSort(graph, min, range, LongBuffer.wrap(new long[m]), LongBuffer.wrap(new long[m]));
+        int[] order = new int[m];
+        for (int i = 0; i < m; i++) {
+            order[i] = (int) keys.get(i);
+        }
+        return order;
+    }
+
+    /**
+     * The LSD passes shared by the heap and off-heap sorts. Fills {@code keys} with the packed
+     * keys, sorts them using {@code buffer} as scratch space and returns whichever of the two
+     * holds the result.
+     */
+    private static LongBuffer radixSort(Graph graph, int min, long range, LongBuffer keys, LongBuffer buffer) {
+        int m = graph.getEdgeCount();
+        for (int i = 0; i < m; i++) {
+            keys.put(i, (((long) graph.edgeWeight(i) - min) << 32) | i);
+        }
+        int weightBits = 64 - Long.numberOfLeadingZeros(range - 1);
+        int[] count = new int[RADIX];
+        for (int shift = 32; shift < 32 + weightBits; shift += RADIX_BITS) {
+            java.util.Arrays.fill(count, 0);
+            for (int i = 0; i < m; i++) {
+                count[(int) (keys.get(i) >>> shift) & (RADIX - 1)]++;
+            }
+            for (int b = 1; b < RADIX; b++) {
+                count[b] += count[b - 1];
+            }
+            for (int i = m - 1; i >= 0; i--) {
+                long key = keys.get(i);
+                buffer.put(--count[(int) (key >>> shift) & (RADIX - 1)], key);
+            }
+            LongBuffer tmp = keys;
+            keys = buffer;
+            buffer = tmp;
+        }
+        return keys;
+    }
+}
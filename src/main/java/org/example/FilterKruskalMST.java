@@ -0,0 +1,212 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+/**
+ * Filter-Kruskal: partitions the edges around a pivot weight quicksort-style,
+ * solves the light half first and then drops heavy edges whose endpoints are
+ * already connected before recursing into them. On dense graphs most heavy
+ * edges are filtered out without ever being sorted. Partitioning and filtering
+ * of large segments run on a {@link ForkJoinPool}; the union-find steps stay
+ * sequential.
+ */
+public class FilterKruskalMST {
+    /** Segments at or below this size are sorted and scanned directly. */
+    static final int BASE_CASE_SIZE = 1 << 10;
+    /** Segments at or above this size are partitioned and filtered in parallel. */
+    static final int PARALLEL_THRESHOLD = 1 << 15;
+    private static final int CHUNK_SIZE = 1 << 13;
+    private static final int PIVOT_SAMPLES = 9;
+
+    public static KruskalMST.Result findMST(Graph graph, Metrics metrics) {
+        return findMST(graph, metrics, ForkJoinPool.commonPool());
+    }
+
+    public static KruskalMST.Result findMST(Graph graph, Metrics metrics, ForkJoinPool pool) {
+        metrics.startTimer();
+        Run run = new Run(graph, pool);
+        if (graph.getVertices() > 1) {
+            run.solve(0, graph.getEdgeCount());
+        }
+        metrics.addComparisons(run.sets.getFindCount() + run.filterFinds);
+        metrics.addUnions(run.sets.getUnionCount());
+
+        metrics.stopTimer();
+        metrics.setTotalCost(run.totalWeight);
+        return new KruskalMST.Result(run.totalWeight, run.mstEdges, metrics);
+    }
+
+    private static final class Run {
+        final Graph graph;
+        final ForkJoinPool pool;
+        final DisjointSet sets;
+        final int[] edges;
+        final int[] buffer;
+        final ArrayList<Edge> mstEdges = new ArrayList<>();
+        final int target;
+        int totalWeight;
+        long filterFinds;
+
+        Run(Graph graph, ForkJoinPool pool) {
+            this.graph = graph;
+            this.pool = pool;
+            this.sets = new DisjointSet(graph.getVertices());
+            int m = graph.getEdgeCount();
+            this.edges = new int[m];
+            for (int i = 0; i < m; i++) edges[i] = i;
+            this.buffer = new int[m];
+            this.target = graph.getVertices() - 1;
+        }
+
+        boolean done() {
+            return mstEdges.size() == target;
+        }
+
+        void solve(int lo, int hi) {
+            // The heavy side is handled by looping rather than recursing, so the
+            // recursion depth only grows along the light halves.
+            while (hi - lo > 0 && !done()) {
+                if (hi - lo <= BASE_CASE_SIZE) {
+                    kruskal(lo, hi);
+                    return;
+                }
+                int pivot = pivotWeight(lo, hi);
+                int mid = partition(lo, hi, pivot, false);
+                if (mid == hi) {
+                    // Pivot is the maximum: split off the edges strictly below it instead.
+                    mid = partition(lo, hi, pivot, true);
+                    if (mid == lo) {
+                        // Every weight equals the pivot, so the segment is already sorted.
+                        scan(lo, hi);
+                        return;
+                    }
+                }
+                solve(lo, mid);
+                if (done()) return;
+                hi = mid + filter(mid, hi);
+                lo = mid;
+            }
+        }
+
+        int pivotWeight(int lo, int hi) {
+            int[] samples = new int[PIVOT_SAMPLES];
+            long step = (hi - lo) / PIVOT_SAMPLES;
+            for (int i = 0; i < PIVOT_SAMPLES; i++) {
+                samples[i] = graph.edgeWeight(edges[lo + (int) (i * step)]);
+            }
+            Arrays.sort(samples);
+            return samples[PIVOT_SAMPLES / 2];
+        }
+
+        void kruskal(int lo, int hi) {
+            long[] keys = new long[hi - lo];
+            for (int i = lo; i < hi; i++) {
+                keys[i - lo] = ((long) graph.edgeWeight(edges[i]) << 32) | edges[i];
+            }
+            Arrays.sort(keys);
+            for (int i = lo; i < hi; i++) {
+                edges[i] = (int) keys[i - lo];
+            }
+            scan(lo, hi);
+        }
+
+        void scan(int lo, int hi) {
+            for (int i = lo; i < hi && !done(); i++) {
+                int e = edges[i];
+                int u = graph.edgeU(e), v = graph.edgeV(e);
+                if (sets.unionRoots(sets.find(u), sets.find(v))) {
+                    int w = graph.edgeWeight(e);
+                    totalWeight += w;
+                    mstEdges.add(new Edge(u, v, w));
+                }
+            }
+        }
+
+        boolean isLight(int e, int pivot, boolean strict) {
+            int w = graph.edgeWeight(e);
+            return strict ? w < pivot : w <= pivot;
+        }
+
+        /** Moves the light edges of [lo, hi) to the front and returns the first heavy position. */
+        int partition(int lo, int hi, int pivot, boolean strict) {
+            if (hi - lo < PARALLEL_THRESHOLD) {
+                int i = lo, j = hi - 1;
+                while (true) {
+                    while (i <= j && isLight(edges[i], pivot, strict)) i++;
+                    while (i <= j && !isLight(edges[j], pivot, strict)) j--;
+                    if (i >= j) return i;
+                    int tmp = edges[i];
+                    edges[i] = edges[j];
+                    edges[j] = tmp;
+                }
+            }
+            int chunks = ForkJoinChunks.chunkCount(hi - lo, CHUNK_SIZE);
+            int[] lightCounts = new int[chunks];
+            forEachChunk(chunks, c -> {
+                int count = 0;
+                for (int i = lo + c * CHUNK_SIZE, end = Math.min(hi, i + CHUNK_SIZE); i < end; i++) {
+                    if (isLight(edges[i], pivot, strict)) count++;
+                }
+                lightCounts[c] = count;
+            });
+            int[] lightStart = new int[chunks];
+            int[] heavyStart = new int[chunks];
+            int totalLight = 0;
+            for (int c = 0; c < chunks; c++) {
+                lightStart[c] = totalLight;
+                totalLight += lightCounts[c];
+            }
+            int heavy = totalLight;
+            for (int c = 0; c < chunks; c++) {
+                heavyStart[c] = heavy;
+                heavy += Math.min(CHUNK_SIZE, hi - lo - c * CHUNK_SIZE) - lightCounts[c];
+            }
+            forEachChunk(chunks, c -> {
+                int l = lo + lightStart[c], h = lo + heavyStart[c];
+                for (int i = lo + c * CHUNK_SIZE, end = Math.min(hi, i + CHUNK_SIZE); i < end; i++) {
+                    int e = edges[i];
+                    if (isLight(e, pivot, strict)) buffer[l++] = e;
+                    else buffer[h++] = e;
+                }
+            });
+            System.arraycopy(buffer, lo, edges, lo, hi - lo);
+            return lo + totalLight;
+        }
+
+        /** Compacts the edges of [lo, hi) that still join two components to the front; returns their count. */
+        int filter(int lo, int hi) {
+            filterFinds += 2L * (hi - lo);
+            if (hi - lo < PARALLEL_THRESHOLD) {
+                int kept = lo;
+                for (int i = lo; i < hi; i++) {
+                    int e = edges[i];
+                    if (sets.root(graph.edgeU(e)) != sets.root(graph.edgeV(e))) edges[kept++] = e;
+                }
+                return kept - lo;
+            }
+            int chunks = ForkJoinChunks.chunkCount(hi - lo, CHUNK_SIZE);
+            int[] keptCounts = new int[chunks];
+            forEachChunk(chunks, c -> {
+                int kept = lo + c * CHUNK_SIZE;
+                for (int i = kept, end = Math.min(hi, i + CHUNK_SIZE); i < end; i++) {
+                    int e = edges[i];
+                    if (sets.root(graph.edgeU(e)) != sets.root(graph.edgeV(e))) buffer[kept++] = e;
+                }
+                keptCounts[c] = kept - (lo + c * CHUNK_SIZE);
+            });
+            int out = lo;
+            for (int c = 0; c < chunks; c++) {
+                System.arraycopy(buffer, lo + c * CHUNK_SIZE, edges, out, keptCounts[c]);
+                out += keptCounts[c];
+            }
+            return out - lo;
+        }
+
+        void forEachChunk(int chunks, IntConsumer body) {
+            ForkJoinChunks.forEach(pool, chunks, body);
+        }
+    }
+}
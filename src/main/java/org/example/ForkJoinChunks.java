@@ -0,0 +1,42 @@
+package org.example;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/** Runs a body once per chunk index on a {@link ForkJoinPool}, splitting the index range in halves. */
+final class ForkJoinChunks {
+    private ForkJoinChunks() {}
+
+    static void forEach(ForkJoinPool pool, int chunks, IntConsumer body) {
+        if (chunks <= 0) return;
+        pool.invoke(new ChunkTask(0, chunks, body));
+    }
+
+    static int chunkCount(int size, int chunkSize) {
+        return (size + chunkSize - 1) / chunkSize;
+    }
+
+    private static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+        private final IntConsumer body;
+
+        ChunkTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(from, mid, body), new ChunkTask(mid, to, body));
+        }
+    }
+}
@@ -3,28 +3,183 @@ package org.example;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.ArrayList;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
 import java.util.List;
 
 public class Graph {
     private final int id;
     private final int vertices;
-    private final List<Edge> edges;
+    private final int edgeCount;
+
+    // Edge i is (edgeU[i], edgeV[i]) with weight edgeWeight[i]. The buffers wrap
+    // plain int[] arrays for graphs built in memory, direct buffers (see OffHeapGraphBuilder),
+    // or map a binary graph file (see BinaryGraphFormat); either way they are accessed by
+    // absolute index only.
+    private final IntBuffer edgeU;
+    private final IntBuffer edgeV;
+    private final IntBuffer edgeWeight;
+
+    // Compressed sparse row adjacency: the incident edges of u live in
+    // [adjOffsets[u], adjOffsets[u + 1]) of adjTargets/adjWeights.
+    private final IntBuffer adjOffsets;
+    private final IntBuffer adjTargets;
+    private final IntBuffer adjWeights;
+
+    // The same six arrays for graphs built from int[] arrays, null otherwise. The accessors
+    // read these directly, so hot loops over in-memory graphs index plain arrays and never
+    // go through the (heap, direct or mapped) IntBuffer classes.
+    private final int[] heapEdgeU;
+    private final int[] heapEdgeV;
+    private final int[] heapEdgeWeight;
+    private final int[] heapOffsets;
+    private final int[] heapTargets;
+    private final int[] heapWeights;
 
     public Graph(int id, int vertices, JSONArray edgesArray) {
+        this(id, vertices, readEdges(edgesArray));
+    }
+
+    /**
+     * Builds a graph over the given parallel edge arrays. The arrays are taken
+     * over without copying and must not be modified afterwards.
+     */
+    public Graph(int id, int vertices, int[] edgeU, int[] edgeV, int[] edgeWeight) {
+        if (edgeU.length != edgeV.length || edgeU.length != edgeWeight.length) {
+            throw new IllegalArgumentException("Edge arrays must have equal length");
+        }
         this.id = id;
         this.vertices = vertices;
-        this.edges = new ArrayList<>();
-        for (int i = 0; i < edgesArray.length(); i++) {
+        this.edgeCount = edgeU.length;
+        this.edgeU = IntBuffer.wrap(edgeU);
+        this.edgeV = IntBuffer.wrap(edgeV);
+        this.edgeWeight = IntBuffer.wrap(edgeWeight);
+
+        int[] offsets = new int[vertices + 1];
+        int[] targets = new int[2 * edgeCount];
+        int[] weights = new int[2 * edgeCount];
+        buildAdjacency(edgeU, edgeV, edgeWeight, offsets, targets, weights);
+        this.adjOffsets = IntBuffer.wrap(offsets);
+        this.adjTargets = IntBuffer.wrap(targets);
+        this.adjWeights = IntBuffer.wrap(weights);
+        this.heapEdgeU = edgeU;
+        this.heapEdgeV = edgeV;
+        this.heapEdgeWeight = edgeWeight;
+        this.heapOffsets = offsets;
+        this.heapTargets = targets;
+        this.heapWeights = weights;
+    }
+
+    /** Wraps storage whose adjacency index has already been built, e.g. a mapped binary graph. */
+    Graph(int id, int vertices, IntBuffer edgeU, IntBuffer edgeV, IntBuffer edgeWeight,
+          IntBuffer adjOffsets, IntBuffer adjTargets, IntBuffer adjWeights) {
+        int m = edgeU.limit();
+        if (edgeV.limit() != m || edgeWeight.limit() != m
+                || adjOffsets.limit() != vertices + 1 || adjTargets.limit() != 2 * m || adjWeights.limit() != 2 * m) {
+            throw new IllegalArgumentException("Inconsistent graph storage sizes");
+        }
+        this.id = id;
+        this.vertices = vertices;
+        this.edgeCount = m;
+        this.edgeU = edgeU;
+        this.edgeV = edgeV;
+        this.edgeWeight = edgeWeight;
+        this.adjOffsets = adjOffsets;
+        this.adjTargets = adjTargets;
+        this.adjWeights = adjWeights;
+        this.heapEdgeU = null;
+        this.heapEdgeV = null;
+        this.heapEdgeWeight = null;
+        this.heapOffsets = null;
+        this.heapTargets = null;
+        this.heapWeights = null;
+    }
+
+    private Graph(int id, int vertices, int[][] edges) {
+        this(id, vertices, edges[0], edges[1], edges[2]);
+    }
+
+    private static int[][] readEdges(JSONArray edgesArray) {
+        int m = edgesArray.length();
+        int[][] edges = new int[3][m];
+        for (int i = 0; i < m; i++) {
             JSONObject edgeObj = edgesArray.getJSONObject(i);
-            edges.add(new Edge(edgeObj.getInt("u"), edgeObj.getInt("v"), edgeObj.getInt("weight")));
+            edges[0][i] = edgeObj.getInt("u");
+            edges[1][i] = edgeObj.getInt("v");
+            edges[2][i] = edgeObj.getInt("weight");
+        }
+        return edges;
+    }
+
+    private static void buildAdjacency(int[] edgeU, int[] edgeV, int[] edgeWeight,
+                                       int[] offsets, int[] targets, int[] weights) {
+        int m = edgeU.length;
+        int vertices = offsets.length - 1;
+        for (int i = 0; i < m; i++) {
+            offsets[edgeU[i] + 1]++;
+            offsets[edgeV[i] + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] next = java.util.Arrays.copyOf(offsets, vertices);
+        for (int e = 0; e < m; e++) {
+            int u = edgeU[e], v = edgeV[e], w = edgeWeight[e];
+            int i = next[u]++;
+            targets[i] = v;
+            weights[i] = w;
+            int j = next[v]++;
+            targets[j] = u;
+            weights[j] = w;
         }
     }
 
     public int getId() { return id; }
     public int getVertices() { return vertices; }
-    public List<Edge> getEdges() { return new ArrayList<>(edges); }
+    public int getEdgeCount() { return edgeCount; }
+
+    /** True when the storage lives outside the heap: built by {@link OffHeapGraphBuilder} or mapped from a file. */
+    public boolean isOffHeap() { return edgeU.isDirect(); }
 
+    public int edgeU(int i) { return heapEdgeU != null ? heapEdgeU[i] : edgeU.get(i); }
+    public int edgeV(int i) { return heapEdgeV != null ? heapEdgeV[i] : edgeV.get(i); }
+    public int edgeWeight(int i) { return heapEdgeWeight != null ? heapEdgeWeight[i] : edgeWeight.get(i); }
 
+    /**
+     * Read-only {@code List<Edge>} view over the primitive edge storage, kept for
+     * callers that still work with {@link Edge} objects. Each {@code get} creates
+     * a new {@code Edge}; prefer the indexed accessors in hot loops.
+     */
+    public List<Edge> getEdges() {
+        return new AbstractList<Edge>() {
+            @Override
+            public Edge get(int i) {
+                return new Edge(edgeU(i), edgeV(i), edgeWeight(i));
+            }
 
-}
\ No newline at end of file
+            @Override
+            public int size() {
+                return edgeCount;
+            }
+        };
+    }
+
+    /** First index of the incident edges of {@code u} in the adjacency arrays. */
+    public int adjacencyStart(int u) { return heapOffsets != null ? heapOffsets[u] : adjOffsets.get(u); }
+
+    /** One past the last index of the incident edges of {@code u}. */
+    public int adjacencyEnd(int u) { return heapOffsets != null ? heapOffsets[u + 1] : adjOffsets.get(u + 1); }
+
+    public int adjacentVertex(int i) { return heapTargets != null ? heapTargets[i] : adjTargets.get(i); }
+    public int adjacentWeight(int i) { return heapWeights != null ? heapWeights[i] : adjWeights.get(i); }
+
+    public int getDegree(int u) { return adjacencyEnd(u) - adjacencyStart(u); }
+
+    /** Read-only views of the raw storage, in the order edgeU, edgeV, edgeWeight, adjOffsets, adjTargets, adjWeights. */
+    IntBuffer[] storage() {
+        return new IntBuffer[]{
+                edgeU.asReadOnlyBuffer(), edgeV.asReadOnlyBuffer(), edgeWeight.asReadOnlyBuffer(),
+                adjOffsets.asReadOnlyBuffer(), adjTargets.asReadOnlyBuffer(), adjWeights.asReadOnlyBuffer()
+        };
+    }
+}
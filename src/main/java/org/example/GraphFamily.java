@@ -0,0 +1,94 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Graph topologies {@link GraphGenerator} can build, selectable by name. The average
+ * degree is a hint: the grid, complete and path families have a fixed shape and ignore it.
+ */
+public enum GraphFamily {
+    /** Random spanning tree plus uniform extra edges. */
+    RANDOM("random") {
+        @Override
+        public Graph generate(GraphGenerator generator, int id, int vertices, double averageDegree) {
+            return generator.generate(id, vertices, GraphGenerator.edgesForAverageDegree(vertices, averageDegree));
+        }
+    },
+    GRID("grid") {
+        @Override
+        public Graph generate(GraphGenerator generator, int id, int vertices, double averageDegree) {
+            return generator.grid(id, vertices);
+        }
+    },
+    GEOMETRIC("geometric") {
+        @Override
+        public Graph generate(GraphGenerator generator, int id, int vertices, double averageDegree) {
+            return generator.geometric(id, vertices, averageDegree);
+        }
+    },
+    /** Barabási–Albert preferential attachment; each new vertex adds averageDegree / 2 edges. */
+    POWER_LAW("power_law") {
+        @Override
+        public Graph generate(GraphGenerator generator, int id, int vertices, double averageDegree) {
+            return generator.barabasiAlbert(id, vertices, (int) Math.max(1, Math.round(averageDegree / 2)));
+        }
+    },
+    COMPLETE("complete") {
+        @Override
+        public Graph generate(GraphGenerator generator, int id, int vertices, double averageDegree) {
+            return generator.complete(id, vertices);
+        }
+    },
+    /** One long path: the deepest union-find trees and the longest Prim frontier walk. */
+    PATH("path") {
+        @Override
+        public Graph generate(GraphGenerator generator, int id, int vertices, double averageDegree) {
+            return generator.path(id, vertices);
+        }
+    },
+    /** Like {@link #RANDOM}, but only {@value #EQUAL_WEIGHT_VALUES} distinct weights, so ties dominate. */
+    EQUAL_WEIGHTS("equal_weights") {
+        @Override
+        public Graph generate(GraphGenerator generator, int id, int vertices, double averageDegree) {
+            return generator.withWeightRange(GraphGenerator.DEFAULT_MIN_WEIGHT,
+                            GraphGenerator.DEFAULT_MIN_WEIGHT + EQUAL_WEIGHT_VALUES - 1)
+                    .generate(id, vertices, GraphGenerator.edgesForAverageDegree(vertices, averageDegree));
+        }
+    };
+
+    public static final int EQUAL_WEIGHT_VALUES = 4;
+    public static final double DEFAULT_AVERAGE_DEGREE = 8;
+
+    private final String name;
+
+    GraphFamily(String name) {
+        this.name = name;
+    }
+
+    public String getName() { return name; }
+
+    public abstract Graph generate(GraphGenerator generator, int id, int vertices, double averageDegree);
+
+    /** Accepts the name in any case, with '-' and '_' interchangeable. */
+    public static GraphFamily fromName(String name) {
+        String key = name.trim().toLowerCase(Locale.ROOT).replace('-', '_');
+        for (GraphFamily family : values()) {
+            if (family.name.equals(key)) return family;
+        }
+        throw new IllegalArgumentException("Unknown graph family: " + name);
+    }
+
+    /** Parses a comma-separated list such as {@code grid,path}. */
+    public static List<GraphFamily> parseList(String names) {
+        List<GraphFamily> families = new ArrayList<>();
+        for (String name : names.split(",")) {
+            if (name.trim().isEmpty()) continue;
+            GraphFamily family = fromName(name);
+            if (!families.contains(family)) families.add(family);
+        }
+        if (families.isEmpty()) throw new IllegalArgumentException("No graph families selected");
+        return families;
+    }
+}
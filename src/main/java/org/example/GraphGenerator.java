@@ -0,0 +1,467 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Seeded, parallel random graph generator for inputs far beyond what a V×V edge matrix
+ * allows. Every graph is a random spanning tree (so it is connected) plus uniformly
+ * chosen extra edges up to the target count, with no self-loops or parallel edges.
+ * <p>
+ * Vertices are cut into fixed-size chunks and each chunk owns the edges whose smaller
+ * endpoint it contains, so duplicates are detected with a chunk-local primitive hash set
+ * and a tree edge is recognised by a parent lookup. Each chunk draws from its own
+ * {@link SplittableRandom}, split off in chunk order, so the output depends only on the
+ * seed, the graph id and the sizes, never on the number of threads.
+ */
+public class GraphGenerator {
+    public static final int DEFAULT_MIN_WEIGHT = 1500;
+    public static final int DEFAULT_MAX_WEIGHT = 4000;
+
+    private static final int CHUNK_VERTICES = 1 << 14;
+    private static final long MAX_EDGES = Integer.MAX_VALUE - 8;
+
+    private final long seed;
+    private final ForkJoinPool pool;
+    private int minWeight = DEFAULT_MIN_WEIGHT;
+    private int maxWeight = DEFAULT_MAX_WEIGHT;
+
+    public GraphGenerator(long seed) {
+        this(seed, ForkJoinPool.commonPool());
+    }
+
+    public GraphGenerator(long seed, ForkJoinPool pool) {
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    /** Weights are drawn uniformly from [min, max]. */
+    public GraphGenerator setWeightRange(int min, int max) {
+        if (min > max) throw new IllegalArgumentException("Empty weight range " + min + ".." + max);
+        this.minWeight = min;
+        this.maxWeight = max;
+        return this;
+    }
+
+    /** Edge count for a fraction {@code density} of all V(V-1)/2 vertex pairs. */
+    public static long edgesForDensity(int vertices, double density) {
+        if (density < 0 || density > 1) throw new IllegalArgumentException("Density must be in [0, 1]: " + density);
+        return Math.round(maxEdges(vertices) * density);
+    }
+
+    /** Edge count for an average vertex degree of {@code degree}. */
+    public static long edgesForAverageDegree(int vertices, double degree) {
+        if (degree < 0) throw new IllegalArgumentException("Average degree must not be negative: " + degree);
+        return Math.round(vertices * degree / 2);
+    }
+
+    /**
+     * Generates graph {@code id} with {@code vertices} vertices and {@code targetEdges}
+     * edges, clamped to [V - 1, V(V-1)/2].
+     */
+    public Graph generate(int id, int vertices, long targetEdges) {
+        if (vertices < 1) throw new IllegalArgumentException("Need at least one vertex: " + vertices);
+        long m = Math.max(vertices - 1, Math.min(targetEdges, maxEdges(vertices)));
+        if (m > MAX_EDGES) throw new IllegalArgumentException("Too many edges for one graph: " + m);
+
+        int chunks = ForkJoinChunks.chunkCount(vertices, CHUNK_VERTICES);
+        SplittableRandom random = randomFor(id);
+        SplittableRandom[] treeRandoms = new SplittableRandom[chunks];
+        SplittableRandom[] extraRandoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) treeRandoms[c] = random.split();
+        for (int c = 0; c < chunks; c++) extraRandoms[c] = random.split();
+
+        int[] u = new int[(int) m], v = new int[(int) m], w = new int[(int) m];
+
+        // Tree edge x - 1 attaches vertex x to a random earlier vertex u[x - 1].
+        ForkJoinChunks.forEach(pool, chunks, c -> {
+            SplittableRandom r = treeRandoms[c];
+            for (int x = Math.max(1, c * CHUNK_VERTICES), end = chunkEnd(c, vertices); x < end; x++) {
+                u[x - 1] = r.nextInt(x);
+                v[x - 1] = x;
+                w[x - 1] = weight(r);
+            }
+        });
+
+        long[] available = nonTreePairs(vertices, chunks, u);
+        int[] quota = extraQuotas(vertices, chunks, m - (vertices - 1), available);
+        int[] start = new int[chunks];
+        for (int c = 0, next = vertices - 1; c < chunks; c++) {
+            start[c] = next;
+            next += quota[c];
+        }
+        ForkJoinChunks.forEach(pool, chunks, c ->
+                fillExtraEdges(c, vertices, quota[c], available[c], start[c], extraRandoms[c], u, v, w));
+
+        return new Graph(id, vertices, u, v, w);
+    }
+
+    /** A grid of ceil(sqrt(V)) columns filled row by row, with edges to the right and downward neighbours. */
+    public Graph grid(int id, int vertices) {
+        if (vertices < 1) throw new IllegalArgumentException("Need at least one vertex: " + vertices);
+        SplittableRandom random = randomFor(id);
+        int side = (int) Math.ceil(Math.sqrt(vertices));
+        EdgeBuffer edges = new EdgeBuffer(2L * vertices);
+        for (int x = 0; x < vertices; x++) {
+            if (x % side < side - 1 && x + 1 < vertices) edges.add(x, x + 1, weight(random));
+            if (x + side < vertices) edges.add(x, x + side, weight(random));
+        }
+        return edges.toGraph(id, vertices);
+    }
+
+    /**
+     * Random geometric graph: points uniform in the unit square, joined when closer than the
+     * radius that gives the requested average degree. Weights grow with distance, from the
+     * minimum weight at distance 0 to the maximum at the radius. Components are joined
+     * into one by maximum-weight edges between consecutive vertex ids.
+     */
+    public Graph geometric(int id, int vertices, double averageDegree) {
+        if (vertices < 1) throw new IllegalArgumentException("Need at least one vertex: " + vertices);
+        SplittableRandom random = randomFor(id);
+        double[] px = new double[vertices], py = new double[vertices];
+        for (int i = 0; i < vertices; i++) {
+            px[i] = random.nextDouble();
+            py[i] = random.nextDouble();
+        }
+        double radius = Math.min(1.5, Math.sqrt(Math.max(averageDegree, 1) / (Math.PI * vertices)));
+        int cells = Math.max(1, Math.min((int) (1 / radius), 1 << 12));
+
+        // Bucket the points by cell (counting sort), then compare each point with its own and neighbouring cells.
+        int[] cellStart = new int[cells * cells + 1];
+        int[] cellOf = new int[vertices];
+        for (int i = 0; i < vertices; i++) {
+            cellOf[i] = cell(px[i], cells) * cells + cell(py[i], cells);
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cells * cells; c++) cellStart[c + 1] += cellStart[c];
+        int[] byCell = new int[vertices];
+        int[] next = Arrays.copyOf(cellStart, cells * cells);
+        for (int i = 0; i < vertices; i++) byCell[next[cellOf[i]]++] = i;
+
+        EdgeBuffer edges = new EdgeBuffer((long) (vertices * Math.max(averageDegree, 1) / 2) + vertices);
+        double r2 = radius * radius;
+        for (int i = 0; i < vertices; i++) {
+            int cx = cellOf[i] / cells, cy = cellOf[i] % cells;
+            for (int nx = Math.max(0, cx - 1); nx <= Math.min(cells - 1, cx + 1); nx++) {
+                for (int ny = Math.max(0, cy - 1); ny <= Math.min(cells - 1, cy + 1); ny++) {
+                    int c = nx * cells + ny;
+                    for (int k = cellStart[c]; k < cellStart[c + 1]; k++) {
+                        int j = byCell[k];
+                        if (j <= i) continue;
+                        double dx = px[i] - px[j], dy = py[i] - py[j], d2 = dx * dx + dy * dy;
+                        if (d2 <= r2) {
+                            edges.add(i, j, minWeight + (int) Math.round(Math.sqrt(d2) / radius * (maxWeight - minWeight)));
+                        }
+                    }
+                }
+            }
+        }
+        DisjointSet sets = new DisjointSet(vertices);
+        for (int e = 0; e < edges.size; e++) sets.union(edges.u[e], edges.v[e]);
+        for (int x = 1; x < vertices; x++) {
+            if (sets.union(x - 1, x)) edges.add(x - 1, x, maxWeight);
+        }
+        return edges.toGraph(id, vertices);
+    }
+
+    /**
+     * Barabási–Albert preferential attachment: a clique of {@code m + 1} vertices, then every
+     * new vertex attaches to {@code m} distinct earlier vertices chosen in proportion to degree.
+     */
+    public Graph barabasiAlbert(int id, int vertices, int m) {
+        if (vertices < 1) throw new IllegalArgumentException("Need at least one vertex: " + vertices);
+        if (m < 1) throw new IllegalArgumentException("Each vertex needs at least one edge: " + m);
+        SplittableRandom random = randomFor(id);
+        int core = Math.min(vertices, m + 1);
+        long total = maxEdges(core) + (long) (vertices - core) * m;
+        if (total > MAX_EDGES) throw new IllegalArgumentException("Too many edges for one graph: " + total);
+        EdgeBuffer edges = new EdgeBuffer(total);
+        // Every edge endpoint, so a uniform pick from it is a degree-proportional pick of a vertex.
+        int[] endpoints = new int[(int) (2 * total)];
+        int ends = 0;
+        for (int a = 0; a < core; a++) {
+            for (int b = a + 1; b < core; b++) {
+                edges.add(a, b, weight(random));
+                endpoints[ends++] = a;
+                endpoints[ends++] = b;
+            }
+        }
+        int[] chosen = new int[m];
+        for (int x = core; x < vertices; x++) {
+            int picked = 0;
+            while (picked < m) {
+                int t = ends == 0 ? 0 : endpoints[random.nextInt(ends)];
+                boolean repeat = false;
+                for (int k = 0; k < picked; k++) repeat |= chosen[k] == t;
+                if (!repeat) chosen[picked++] = t;
+            }
+            for (int k = 0; k < m; k++) {
+                edges.add(chosen[k], x, weight(random));
+                endpoints[ends++] = chosen[k];
+                endpoints[ends++] = x;
+            }
+        }
+        return edges.toGraph(id, vertices);
+    }
+
+    public Graph complete(int id, int vertices) {
+        if (vertices < 1) throw new IllegalArgumentException("Need at least one vertex: " + vertices);
+        if (maxEdges(vertices) > MAX_EDGES) throw new IllegalArgumentException("Too many edges for one graph: " + maxEdges(vertices));
+        SplittableRandom random = randomFor(id);
+        EdgeBuffer edges = new EdgeBuffer(maxEdges(vertices));
+        for (int a = 0; a < vertices; a++) {
+            for (int b = a + 1; b < vertices; b++) edges.add(a, b, weight(random));
+        }
+        return edges.toGraph(id, vertices);
+    }
+
+    /**
+     * A single path through the vertices in random order, with weights rising along it, so
+     * Kruskal unions the edges in path order and keeps growing one long component.
+     */
+    public Graph path(int id, int vertices) {
+        if (vertices < 1) throw new IllegalArgumentException("Need at least one vertex: " + vertices);
+        SplittableRandom random = randomFor(id);
+        int[] order = new int[vertices];
+        for (int i = 0; i < vertices; i++) order[i] = i;
+        for (int i = vertices - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        EdgeBuffer edges = new EdgeBuffer(vertices);
+        for (int i = 1; i < vertices; i++) {
+            long step = (long) (i - 1) * (maxWeight - minWeight) / Math.max(1, vertices - 2);
+            edges.add(order[i - 1], order[i], minWeight + (int) step);
+        }
+        return edges.toGraph(id, vertices);
+    }
+
+    /** A copy of this generator (same seed and pool) drawing weights from [min, max]. */
+    public GraphGenerator withWeightRange(int min, int max) {
+        return new GraphGenerator(seed, pool).setWeightRange(min, max);
+    }
+
+    private static int cell(double coordinate, int cells) {
+        return Math.min(cells - 1, (int) (coordinate * cells));
+    }
+
+    private SplittableRandom randomFor(int id) {
+        return new SplittableRandom(mix(seed + 0x9E3779B97F4A7C15L * id));
+    }
+
+    /** Growable parallel edge arrays for the sequentially built families. */
+    private static final class EdgeBuffer {
+        int[] u, v, w;
+        int size;
+
+        EdgeBuffer(long expected) {
+            int capacity = (int) Math.max(16, Math.min(expected, MAX_EDGES));
+            u = new int[capacity];
+            v = new int[capacity];
+            w = new int[capacity];
+        }
+
+        void add(int a, int b, int weight) {
+            if (size == u.length) {
+                int grown = (int) Math.min(MAX_EDGES, size + (size >> 1) + 1L);
+                u = Arrays.copyOf(u, grown);
+                v = Arrays.copyOf(v, grown);
+                w = Arrays.copyOf(w, grown);
+            }
+            u[size] = a;
+            v[size] = b;
+            w[size] = weight;
+            size++;
+        }
+
+        Graph toGraph(int id, int vertices) {
+            if (size == u.length) return new Graph(id, vertices, u, v, w);
+            return new Graph(id, vertices, Arrays.copyOf(u, size), Arrays.copyOf(v, size), Arrays.copyOf(w, size));
+        }
+    }
+
+    /** Vertex pairs owned by each chunk that are not already tree edges. */
+    private static long[] nonTreePairs(int vertices, int chunks, int[] treeU) {
+        long[] available = new long[chunks];
+        for (int c = 0; c < chunks; c++) available[c] = ownedPairs(c, vertices);
+        for (int x = 1; x < vertices; x++) available[treeU[x - 1] / CHUNK_VERTICES]--;
+        return available;
+    }
+
+    /**
+     * Splits the extra edges between chunks in proportion to the vertex pairs each owns,
+     * capped by the pairs still available.
+     */
+    private static int[] extraQuotas(int vertices, int chunks, long extra, long[] available) {
+        long totalPairs = maxEdges(vertices);
+        int[] quota = new int[chunks];
+        long cumulativePairs = 0, assigned = 0;
+        for (int c = 0; c < chunks; c++) {
+            cumulativePairs += ownedPairs(c, vertices);
+            long upTo = totalPairs == 0 ? 0 : Math.round((double) extra * cumulativePairs / totalPairs);
+            quota[c] = (int) Math.min(upTo - assigned, available[c]);
+            assigned += quota[c];
+        }
+        for (int c = 0; c < chunks && assigned < extra; c++) {
+            long more = Math.min(extra - assigned, available[c] - quota[c]);
+            quota[c] += (int) more;
+            assigned += more;
+        }
+        return quota;
+    }
+
+    private void fillExtraEdges(int c, int vertices, int quota, long available, int at,
+                                SplittableRandom r, int[] u, int[] v, int[] w) {
+        if (quota == 0) return;
+        int a = c * CHUNK_VERTICES, b = chunkEnd(c, vertices);
+        if (2L * quota >= available) {
+            // Dense: walk every pair once and keep each with probability needed / remaining.
+            long remaining = available;
+            int needed = quota;
+            for (int x = a; x < b && needed > 0; x++) {
+                for (int y = x + 1; y < vertices && needed > 0; y++) {
+                    if (u[y - 1] == x) continue;
+                    if (r.nextLong(remaining) < needed) {
+                        u[at] = x;
+                        v[at] = y;
+                        w[at] = weight(r);
+                        at++;
+                        needed--;
+                    }
+                    remaining--;
+                }
+            }
+            return;
+        }
+        // Sparse: rejection-sample pairs uniformly and drop tree edges and repeats.
+        LongHashSet seen = new LongHashSet(quota);
+        int span = vertices - 1 - a;
+        for (int filled = 0; filled < quota; ) {
+            int x = a + r.nextInt(b - a);
+            int offset = r.nextInt(span);
+            if (offset >= vertices - 1 - x) continue;
+            int y = x + 1 + offset;
+            if (u[y - 1] == x || !seen.add(((long) x << 32) | y)) continue;
+            u[at] = x;
+            v[at] = y;
+            w[at] = weight(r);
+            at++;
+            filled++;
+        }
+    }
+
+    private int weight(SplittableRandom r) {
+        return minWeight + r.nextInt(maxWeight - minWeight + 1);
+    }
+
+    /** Pairs (x, y) with x in chunk {@code c} and x < y < V. */
+    private static long ownedPairs(int c, int vertices) {
+        long a = (long) c * CHUNK_VERTICES, b = chunkEnd(c, vertices);
+        return (b - a) * (vertices - 1) - (a + b - 1) * (b - a) / 2;
+    }
+
+    private static int chunkEnd(int c, int vertices) {
+        return (int) Math.min((long) (c + 1) * CHUNK_VERTICES, vertices);
+    }
+
+    private static long maxEdges(int vertices) {
+        return (long) vertices * (vertices - 1) / 2;
+    }
+
+    /** Spreadsheet-style labels A..Z, AA..AZ, ... as used by {@link InputJSONGenerator}. */
+    public static String label(int index) {
+        StringBuilder sb = new StringBuilder();
+        int n = index;
+        do {
+            sb.append((char) ('A' + n % 26));
+            n = n / 26 - 1;
+        } while (n >= 0);
+        return sb.reverse().toString();
+    }
+
+    public static String[] labels(int vertices) {
+        String[] labels = new String[vertices];
+        for (int i = 0; i < vertices; i++) labels[i] = label(i);
+        return labels;
+    }
+
+    /** SplitMix64 finalizer, so nearby seeds and ids give unrelated streams. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final String USAGE = "Usage: GraphGenerator --vertices=N [--family=NAME] [--density=D | --degree=K]"
+            + " [--graphs=G] [--seed=S] [--format=json|binary] [--out=PATH]";
+
+    /**
+     * Writes {@code --graphs} graphs (ids 1..G) straight to an input.json file or to a
+     * directory of {@code .mstg} files, one graph in memory at a time.
+     */
+    public static void main(String[] args) {
+        int vertices = -1;
+        double density = -1;
+        double degree = -1;
+        int graphs = 1;
+        long seed = 1;
+        String format = "json";
+        String out = null;
+        GraphFamily family = GraphFamily.RANDOM;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--vertices=")) vertices = Integer.parseInt(arg.substring("--vertices=".length()));
+                else if (arg.startsWith("--density=")) density = Double.parseDouble(arg.substring("--density=".length()));
+                else if (arg.startsWith("--degree=")) degree = Double.parseDouble(arg.substring("--degree=".length()));
+                else if (arg.startsWith("--graphs=")) graphs = Integer.parseInt(arg.substring("--graphs=".length()));
+                else if (arg.startsWith("--seed=")) seed = Long.parseLong(arg.substring("--seed=".length()));
+                else if (arg.startsWith("--family=")) family = GraphFamily.fromName(arg.substring("--family=".length()));
+                else if (arg.startsWith("--format=")) format = arg.substring("--format=".length());
+                else if (arg.startsWith("--out=")) out = arg.substring("--out=".length());
+                else throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+            if (vertices < 1) throw new IllegalArgumentException("--vertices is required");
+            if (density >= 0 && degree >= 0) throw new IllegalArgumentException("Give --density or --degree, not both");
+            if (!format.equals("json") && !format.equals("binary")) throw new IllegalArgumentException("Unknown format: " + format);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return;
+        }
+        // Random graphs default to half of all pairs, like InputJSONGenerator; other families to a sparse degree.
+        if (degree < 0) {
+            if (density < 0 && family != GraphFamily.RANDOM) degree = GraphFamily.DEFAULT_AVERAGE_DEGREE;
+            else degree = (density >= 0 ? density : 0.5) * (vertices - 1);
+        }
+        Path target = Paths.get(out != null ? out : format.equals("json") ? "data/input.json" : "data/bin");
+        GraphGenerator generator = new GraphGenerator(seed);
+        String[] labels = labels(vertices);
+
+        try {
+            if (format.equals("json")) {
+                try (JsonGraphWriter writer = JsonGraphWriter.open(target, false)) {
+                    for (int id = 1; id <= graphs; id++) {
+                        writer.write(new GraphInput(family.generate(generator, id, vertices, degree), labels));
+                    }
+                }
+            } else {
+                Files.createDirectories(target);
+                for (int id = 1; id <= graphs; id++) {
+                    Graph graph = family.generate(generator, id, vertices, degree);
+                    BinaryGraphFormat.write(new GraphInput(graph, labels), target.resolve(BinaryGraphFormat.fileName(id)));
+                }
+            }
+            System.out.println("Saved " + graphs + " " + family.getName() + " graphs (V=" + vertices
+                    + ", seed=" + seed + ") to " + target);
+        } catch (IOException e) {
+            System.err.println("Failed: " + e.getMessage());
+        }
+    }
+}
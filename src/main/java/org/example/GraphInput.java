@@ -0,0 +1,15 @@
+package org.example;
+
+/** A graph read from input.json together with the vertex labels used in the output. */
+public class GraphInput {
+    public final Graph graph;
+    public final String[] labels;
+
+    public GraphInput(Graph graph, String[] labels) {
+        if (labels.length != graph.getVertices()) {
+            throw new IllegalArgumentException("Expected " + graph.getVertices() + " labels but got " + labels.length);
+        }
+        this.graph = graph;
+        this.labels = labels;
+    }
+}
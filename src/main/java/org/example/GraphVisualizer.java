@@ -5,9 +5,11 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.stream.IntStream;
 import javax.imageio.ImageIO;
 
 public class GraphVisualizer {
@@ -19,10 +21,46 @@ public class GraphVisualizer {
 //    }
 
 
+    /** Graphs with at least this many vertices are drawn as an edge-density heatmap. */
+    public static final int DENSITY_THRESHOLD = 700;
+    /** Colour of the MST overlay in density mode. */
+    public static final int MST_RGB = 0xD62728;
+    public static final int BACKGROUND_RGB = 0xFFFFFF;
+
+    private static final int OUTLINE_SIZE = 1600;
+    private static final int DENSITY_SIZE = 2200;
+    private static final int MARGIN = 80;
+    /** Side of the square of pixels that shares one density counter. */
+    private static final int DENSITY_CELL = 2;
+    /** Edges one density stripe rasterizes before another thread and buffer pay off. */
+    private static final int EDGES_PER_STRIPE = 1 << 18;
+
     public static void visualize(Graph graph, String outputPath) {
+        visualize(graph, null, outputPath);
+    }
+
+    /**
+     * Draws {@code graph} to a PNG. Small graphs get the vertex-and-edge outline; from
+     * {@link #DENSITY_THRESHOLD} vertices on, every edge goes into a density heatmap with
+     * {@code mstEdges} drawn on top. Pass the tree the caller already has; {@code null}
+     * recomputes one with Kruskal, which may pick other edges where weights tie.
+     */
+    public static void visualize(Graph graph, List<Edge> mstEdges, String outputPath) {
+        BufferedImage image;
+        if (graph.getVertices() >= DENSITY_THRESHOLD) {
+            if (mstEdges == null) mstEdges = minimumSpanningTree(graph);
+            int stripes = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(),
+                    graph.getEdgeCount() / EDGES_PER_STRIPE));
+            image = renderDensity(graph, mstEdges, DENSITY_SIZE, stripes);
+        } else {
+            image = renderOutline(graph);
+        }
+        save(image, outputPath);
+    }
+
+    private static BufferedImage renderOutline(Graph graph) {
         int V = graph.getVertices();
-        int height = (V >= 700) ? 2200 : 1600;
-        int margin = 80;
+        int height = OUTLINE_SIZE;
 
         BufferedImage image = new BufferedImage(height, height, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2 = image.createGraphics();
@@ -30,36 +68,26 @@ public class GraphVisualizer {
         g2.setColor(Color.WHITE);
         g2.fillRect(0, 0, height, height);
 
-
-        double cx = height / 2.0;
-        double cy = height / 2.0;
-        double radius = Math.min(height, height) / 2.0 - margin;
         double[] xs = new double[V];
         double[] ys = new double[V];
-        for (int i = 0; i < V; i++) {
-            double angle = 2 * Math.PI * i / V;
-            xs[i] = cx + radius * Math.cos(angle);
-            ys[i] = cy + radius * Math.sin(angle);
-        }
+        circleLayout(V, height, xs, ys);
 
-        int maxEdgesToDraw = (V >= 700) ? 30000 : 200000;
-        List<Edge> edges = graph.getEdges();
-        int E = edges.size();
+        int maxEdgesToDraw = 200000;
+        int E = graph.getEdgeCount();
         int step = Math.max(1, E / Math.max(1, maxEdgesToDraw));
         g2.setColor(new Color(0x88, 0x88, 0x88, 120));
         g2.setStroke(new BasicStroke(1f));
         for (int i = 0; i < E; i += step) {
-            Edge e = edges.get(i);
-            int x1 = (int) Math.round(xs[e.u]);
-            int y1 = (int) Math.round(ys[e.v]);
-            int x2 = (int) Math.round(xs[e.v]);
-            int y2 = (int) Math.round(ys[e.v]);
-            y1 = (int) Math.round(ys[e.u]);
+            int u = graph.edgeU(i), v = graph.edgeV(i);
+            int x1 = (int) Math.round(xs[u]);
+            int y1 = (int) Math.round(ys[u]);
+            int x2 = (int) Math.round(xs[v]);
+            int y2 = (int) Math.round(ys[v]);
             g2.drawLine(x1, y1, x2, y2);
         }
 
 
-        int nodeSize = (V >= 700) ? 6 : 10;
+        int nodeSize = 10;
         g2.setColor(new Color(0x33, 0x66, 0xCC));
         for (int i = 0; i < V; i++) {
             int x = (int) Math.round(xs[i]) - nodeSize / 2;
@@ -72,8 +100,148 @@ public class GraphVisualizer {
         g2.drawString("Graph ID: " + graph.getId() + " | V=" + V + " E=" + E, 20, 30);
 
         g2.dispose();
+        return image;
+    }
+
+    /**
+     * Rasterizes every edge with Bresenham into hit counts per {@value #DENSITY_CELL}x{@value #DENSITY_CELL}
+     * pixel cell, tone-maps the counts on a log scale and draws {@code mstEdges} over the result
+     * at full resolution. No Java2D calls except the caption, so the cost is one integer loop
+     * per cell an edge crosses; the coarser count grid halves the line lengths and keeps the
+     * buffer cache-sized. With {@code stripes > 1} the edges are split across that many threads,
+     * each with its own count buffer.
+     */
+    public static BufferedImage renderDensity(Graph graph, List<Edge> mstEdges, int size, int stripes) {
+        int V = graph.getVertices();
+        int E = graph.getEdgeCount();
+        double[] xs = new double[V];
+        double[] ys = new double[V];
+        circleLayout(V, size, xs, ys);
+        int[] px = new int[V];
+        int[] py = new int[V];
+        int[] cx = new int[V];
+        int[] cy = new int[V];
+        for (int i = 0; i < V; i++) {
+            px[i] = (int) Math.round(xs[i]);
+            py[i] = (int) Math.round(ys[i]);
+            cx[i] = px[i] / DENSITY_CELL;
+            cy[i] = py[i] / DENSITY_CELL;
+        }
+        int grid = (size + DENSITY_CELL - 1) / DENSITY_CELL;
+
+        int[] counts;
+        if (stripes <= 1) {
+            counts = accumulate(graph, cx, cy, grid, 0, E);
+        } else {
+            long chunk = ((long) E + stripes - 1) / stripes;
+            counts = IntStream.range(0, stripes).parallel()
+                    .mapToObj(s -> accumulate(graph, cx, cy, grid,
+                            (int) Math.min(E, s * chunk), (int) Math.min(E, (s + 1) * chunk)))
+                    .reduce((a, b) -> {
+                        for (int i = 0; i < a.length; i++) a[i] += b[i];
+                        return a;
+                    }).get();
+        }
+
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        toneMap(counts, grid, pixels, size);
+        for (Edge e : mstEdges) {
+            line(px[e.u], py[e.u], px[e.v], py[e.v], size, pixels, MST_RGB);
+        }
+
+        Graphics2D g2 = image.createGraphics();
+        g2.setColor(Color.BLACK);
+        g2.drawString("Graph ID: " + graph.getId() + " | V=" + V + " E=" + E + " | edge density, MST in red", 20, 30);
+        g2.dispose();
+        return image;
+    }
+
+    private static int[] accumulate(Graph graph, int[] cx, int[] cy, int grid, int from, int to) {
+        int[] counts = new int[grid * grid];
+        for (int i = from; i < to; i++) {
+            int u = graph.edgeU(i), v = graph.edgeV(i);
+            line(cx[u], cy[u], cx[v], cy[v], grid, counts, -1);
+        }
+        return counts;
+    }
+
+    /** Bresenham from (x0, y0) to (x1, y1) on a row-major buffer of the given width: sets each pixel to {@code rgb}, or increments it when rgb is -1. */
+    private static void line(int x0, int y0, int x1, int y1, int width, int[] buffer, int rgb) {
+        int dx = Math.abs(x1 - x0), sx = x0 < x1 ? 1 : -1;
+        int dy = -Math.abs(y1 - y0), sy = y0 < y1 ? width : -width;
+        int err = dx + dy;
+        int pos = y0 * width + x0;
+        int end = y1 * width + x1;
+        while (true) {
+            if (rgb < 0) buffer[pos]++;
+            else buffer[pos] = rgb;
+            if (pos == end) return;
+            int e2 = 2 * err;
+            if (e2 >= dy) {
+                err += dy;
+                pos += sx;
+            }
+            if (e2 <= dx) {
+                err += dx;
+                pos += sy;
+            }
+        }
+    }
+
+    /**
+     * Maps hit counts to a white-to-navy ramp on a log scale between the smallest non-zero
+     * count and the largest, so uniformly dense graphs still show their structure.
+     */
+    private static void toneMap(int[] counts, int grid, int[] pixels, int size) {
+        int max = 0;
+        int min = Integer.MAX_VALUE;
+        for (int c : counts) {
+            max = Math.max(max, c);
+            if (c > 0) min = Math.min(min, c);
+        }
+        int[] ramp = new int[256];
+        for (int i = 0; i < ramp.length; i++) {
+            double t = 0.15 + 0.85 * i / 255.0;
+            int r = (int) Math.round(0xE8 + (0x08 - 0xE8) * t);
+            int g = (int) Math.round(0xF0 + (0x1D - 0xF0) * t);
+            int b = (int) Math.round(0xFF + (0x58 - 0xFF) * t);
+            ramp[i] = (r << 16) | (g << 8) | b;
+        }
+        double logMin = Math.log(Math.max(1, min));
+        double scale = max > min ? 255 / (Math.log(max) - logMin) : 0;
+        int[] row = new int[grid];
+        for (int y = 0; y < size; y++) {
+            if (y % DENSITY_CELL == 0) {
+                for (int x = 0, base = (y / DENSITY_CELL) * grid; x < grid; x++) {
+                    int c = counts[base + x];
+                    row[x] = c == 0 ? BACKGROUND_RGB : ramp[(int) ((Math.log(c) - logMin) * scale)];
+                }
+            }
+            for (int x = 0, base = y * size; x < size; x++) {
+                pixels[base + x] = row[x / DENSITY_CELL];
+            }
+        }
+    }
+
+    private static void circleLayout(int V, int size, double[] xs, double[] ys) {
+        double cx = size / 2.0;
+        double cy = size / 2.0;
+        double radius = size / 2.0 - MARGIN;
+        for (int i = 0; i < V; i++) {
+            double angle = 2 * Math.PI * i / V;
+            xs[i] = cx + radius * Math.cos(angle);
+            ys[i] = cy + radius * Math.sin(angle);
+        }
+    }
 
+    private static List<Edge> minimumSpanningTree(Graph graph) {
+        Metrics metrics = new Metrics(graph.getId(), graph.getVertices(), graph.getEdgeCount(), "render",
+                OperationCounter.disabled());
+        return KruskalMST.findMST(graph, metrics).mstEdges;
+    }
 
+    private static void save(BufferedImage image, String outputPath) {
         File out = new File(outputPath);
         File parent = out.getParentFile();
         if (parent != null && !parent.exists()) parent.mkdirs();
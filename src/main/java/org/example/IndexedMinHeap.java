@@ -0,0 +1,125 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Indexed d-ary min-heap over the ids {@code 0..capacity-1} with primitive int keys.
+ * Every id is stored at most once, so the heap never holds more than {@code capacity}
+ * entries and {@link #decreaseKey(int, int)} updates an entry in place.
+ */
+public class IndexedMinHeap {
+    private final int arity;
+    private final int[] heap;  // position -> id
+    private final int[] pos;   // id -> position, -1 when not in the heap
+    private final int[] keys;  // id -> key
+    private int size;
+
+    public IndexedMinHeap(int capacity, int arity) {
+        if (arity < 2) throw new IllegalArgumentException("Heap arity must be at least 2: " + arity);
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.pos = new int[capacity];
+        this.keys = new int[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    public static IndexedMinHeap binary(int capacity) {
+        return new IndexedMinHeap(capacity, 2);
+    }
+
+    public static IndexedMinHeap quaternary(int capacity) {
+        return new IndexedMinHeap(capacity, 4);
+    }
+
+    public int getArity() { return arity; }
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public boolean contains(int id) { return pos[id] != -1; }
+
+    public int keyOf(int id) {
+        if (pos[id] == -1) throw new IllegalArgumentException("Id not in heap: " + id);
+        return keys[id];
+    }
+
+    public void insert(int id, int key) {
+        if (pos[id] != -1) throw new IllegalArgumentException("Id already in heap: " + id);
+        keys[id] = key;
+        heap[size] = id;
+        pos[id] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int id, int key) {
+        int i = pos[id];
+        if (i == -1) throw new IllegalArgumentException("Id not in heap: " + id);
+        if (key > keys[id]) throw new IllegalArgumentException("New key " + key + " is greater than current key " + keys[id]);
+        keys[id] = key;
+        siftUp(i);
+    }
+
+    /** Returns the id with the smallest key without removing it. */
+    public int peekMin() {
+        if (size == 0) throw new IllegalStateException("Heap is empty");
+        return heap[0];
+    }
+
+    /** Removes and returns the id with the smallest key. */
+    public int pollMin() {
+        if (size == 0) throw new IllegalStateException("Heap is empty");
+        int min = heap[0];
+        pos[min] = -1;
+        if (--size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) pos[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        int key = keys[id];
+        while (i > 0) {
+            int p = (i - 1) / arity;
+            int parentId = heap[p];
+            if (keys[parentId] <= key) break;
+            heap[i] = parentId;
+            pos[parentId] = i;
+            i = p;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        int key = keys[id];
+        while (true) {
+            int first = i * arity + 1;
+            if (first >= size) break;
+            int last = Math.min(first + arity, size);
+            int best = first;
+            int bestKey = keys[heap[first]];
+            for (int c = first + 1; c < last; c++) {
+                int k = keys[heap[c]];
+                if (k < bestKey) {
+                    best = c;
+                    bestKey = k;
+                }
+            }
+            if (bestKey >= key) break;
+            int childId = heap[best];
+            heap[i] = childId;
+            pos[childId] = i;
+            i = best;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+}
@@ -1,115 +1,80 @@
 package org.example;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Random;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
 
 public class InputJSONGenerator {
-    private final JSONArray graphs;
-    private final Random random;
+    private static final double DENSITY = 0.5;
 
+    private final GraphGenerator generator;
+    private final long seed;
+
+    /** Uses a fresh random seed, so every run gets new graphs. */
     public InputJSONGenerator() {
-        this.graphs = new JSONArray();
-        this.random = new Random();
+        this(System.nanoTime());
     }
 
-    private static String labelForIndex(int idx) {
-        StringBuilder sb = new StringBuilder();
-        int n = idx;
-        do {
-            int rem = n % 26;
-            sb.append((char)('A' + rem));
-            n = n / 26 - 1;
-        } while (n >= 0);
-        return sb.reverse().toString();
+    /** Reproducible: the same seed always produces the same input.json. */
+    public InputJSONGenerator(long seed) {
+        this.seed = seed;
+        this.generator = new GraphGenerator(seed);
     }
 
-    private JSONObject generateRandomGraph(int id, int vertexCount) {
-        JSONArray nodes = new JSONArray();
-        for (int i = 0; i < vertexCount; i++) {
-            nodes.put(labelForIndex(i));
-        }
-
-        boolean[][] edgeMatrix = new boolean[vertexCount][vertexCount];
-        JSONArray edges = new JSONArray();
-        for (int v = 1; v < vertexCount; v++) {
-            int u = random.nextInt(v);
-            int weight = 1500 + random.nextInt(2501);
-            edgeMatrix[u][v] = edgeMatrix[v][u] = true;
-            edges.put(new JSONObject()
-                    .put("from", labelForIndex(u))
-                    .put("to", labelForIndex(v))
-                    .put("weight", weight));
-        }
+    public long getSeed() {
+        return seed;
+    }
 
-        int maxPossibleEdges = vertexCount * (vertexCount - 1) / 2;
-        int targetEdges = Math.min((int) (maxPossibleEdges * 0.5), maxPossibleEdges);
+    public void generateAndSave() throws IOException {
+        generateAndSave(Paths.get("data/input.json"));
+    }
 
-        while (edges.length() < targetEdges) {
-            int u = random.nextInt(vertexCount);
-            int v = random.nextInt(vertexCount);
-            if (u != v && !edgeMatrix[u][v]) {
-                int weight = 1500 + random.nextInt(2501);
-                edges.put(new JSONObject()
-                        .put("from", labelForIndex(u))
-                        .put("to", labelForIndex(v))
-                        .put("weight", weight));
-                edgeMatrix[u][v] = edgeMatrix[v][u] = true;
+    public void generateAndSave(Path path) throws IOException {
+        int idCounter = 1;
+        int[][] sizeGroups = {
+                {5, 10, 15, 20, 25, 30},
+                {50, 100, 150, 200, 250, 300, 350, 400, 450},
+                {500, 550, 600, 650, 700, 750, 800, 850, 900, 1000},
+                {1300, 1500, 2000}
+        };
+
+        try (JsonGraphWriter writer = JsonGraphWriter.open(path, false)) {
+            for (int[] sizes : sizeGroups) {
+                for (int nodes : sizes) {
+                    Graph graph = generator.generate(idCounter++, nodes, GraphGenerator.edgesForDensity(nodes, DENSITY));
+                    writer.write(new GraphInput(graph, GraphGenerator.labels(nodes)));
+                }
             }
+            System.out.println("Saved " + writer.getWritten() + " graphs to " + path + " (seed " + seed + ")");
         }
-
-        JSONObject graph = new JSONObject();
-        graph.put("id", id);
-        graph.put("nodes", nodes);
-        graph.put("edges", edges);
-        return graph;
     }
 
-    public void generateAndSave() throws IOException {
+    /**
+     * Writes one graph per (family, size) pair, ids in family-major order, for scaling
+     * runs over different topologies.
+     */
+    public void generateFamilies(List<GraphFamily> families, int[] sizes, double averageDegree, Path path) throws IOException {
         int idCounter = 1;
-
-        int[] smallNodes = {5, 10, 15, 20, 25, 30};
-        for (int nodes : smallNodes) {
-            graphs.put(generateRandomGraph(idCounter++, nodes));
-        }
-
-        int[] mediumNodes = {50, 100, 150, 200, 250, 300, 350, 400, 450};
-        for (int nodes : mediumNodes) {
-            graphs.put(generateRandomGraph(idCounter++, nodes));
-        }
-
-        int[] largeNodes = {500, 550, 600, 650, 700, 750, 800, 850, 900, 1000};
-        for (int nodes : largeNodes) {
-            graphs.put(generateRandomGraph(idCounter++, nodes));
-        }
-
-        int[] extraLargeNodes = {1300, 1500, 2000};
-        for (int nodes : extraLargeNodes) {
-            graphs.put(generateRandomGraph(idCounter++, nodes));
-        }
-
-        JSONObject output = new JSONObject();
-        output.put("graphs", graphs);
-
-        File dir = new File("data");
-        if (!dir.exists()) dir.mkdirs();
-
-        try (FileWriter file = new FileWriter("data/input.json")) {
-            file.write(output.toString(4));
+        try (JsonGraphWriter writer = JsonGraphWriter.open(path, false)) {
+            for (GraphFamily family : families) {
+                for (int nodes : sizes) {
+                    int id = idCounter++;
+                    Graph graph = family.generate(generator, id, nodes, averageDegree);
+                    writer.write(new GraphInput(graph, GraphGenerator.labels(nodes)));
+                    System.out.println("Graph " + id + ": " + family.getName() + ", V=" + nodes + ", E=" + graph.getEdgeCount());
+                }
+            }
+            System.out.println("Saved " + writer.getWritten() + " graphs to " + path + " (seed " + seed + ")");
         }
-
-        System.out.println("Saved " + graphs.length() + " graphs to data/input.json");
     }
 
     public static void main(String[] args) {
-        InputJSONGenerator generator = new InputJSONGenerator();
+        InputJSONGenerator generator = args.length > 0 ? new InputJSONGenerator(Long.parseLong(args[0])) : new InputJSONGenerator();
         try {
             generator.generateAndSave();
         } catch (IOException e) {
             System.err.println("Failed: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
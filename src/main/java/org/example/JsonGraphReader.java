@@ -0,0 +1,255 @@
+package org.example;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams the graphs of an input.json file one at a time with Gson's {@link JsonReader},
+ * reading edges straight into primitive arrays. Only the graph currently being read
+ * is held in memory. With {@link #setOffHeap}, the edges go into direct buffers instead
+ * and the graphs are built by {@link OffHeapGraphBuilder}, so a graph never has to fit
+ * in the heap. Two layouts are accepted for each graph object, in any key order:
+ * <ul>
+ *   <li>{@code {"id", "nodes": [labels], "edges": [{"from", "to", "weight"}]}} (written by {@link InputJSONGenerator})</li>
+ *   <li>{@code {"id", "vertices": n, "edges": [{"u", "v", "weight"}]}}, labelled by vertex index</li>
+ * </ul>
+ * I/O and format errors surface from {@link #hasNext()}/{@link #next()} as {@link UncheckedIOException}.
+ */
+public class JsonGraphReader implements Iterator<GraphInput>, Closeable {
+    private final JsonReader reader;
+    private boolean inArray;
+    private boolean finished;
+    private boolean offHeap;
+
+    public JsonGraphReader(Reader in) {
+        this.reader = new JsonReader(in);
+    }
+
+    public static JsonGraphReader open(Path path) throws IOException {
+        return new JsonGraphReader(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+    }
+
+    /** Reads the edges of later graphs into direct buffers (see {@link OffHeapGraphBuilder}). */
+    public JsonGraphReader setOffHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+        return this;
+    }
+
+    /** Reads every graph of the file; convenient for small inputs and tests. */
+    public static List<GraphInput> readAll(Path path) throws IOException {
+        List<GraphInput> graphs = new ArrayList<>();
+        try (JsonGraphReader in = open(path)) {
+            while (in.hasNext()) graphs.add(in.next());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return graphs;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            if (finished) return false;
+            if (!inArray) seekGraphsArray();
+            if (reader.hasNext()) return true;
+            reader.endArray();
+            finished = true;
+            return false;
+        } catch (IOException | IllegalStateException e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    public GraphInput next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        try {
+            return readGraph();
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private UncheckedIOException failure(Exception e) {
+        finished = true;
+        if (e instanceof IOException) return new UncheckedIOException((IOException) e);
+        return new UncheckedIOException(new IOException("Malformed graph input: " + e.getMessage(), e));
+    }
+
+    private void seekGraphsArray() throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("graphs")) {
+                reader.beginArray();
+                inArray = true;
+                return;
+            }
+            reader.skipValue();
+        }
+        throw new IOException("No \"graphs\" array in input");
+    }
+
+    private GraphInput readGraph() throws IOException {
+        Integer id = null;
+        int vertices = -1;
+        String[] nodes = null;
+        // Labels in order of first appearance in the edge list; remapped to node order at the end.
+        Map<String, Integer> labelIds = new HashMap<>();
+        List<String> seenLabels = new ArrayList<>();
+        boolean labelled = false;
+        int count = 0;
+        IntBuffer us = allocate(16), vs = allocate(16), ws = allocate(16);
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = reader.nextInt();
+                    break;
+                case "vertices":
+                    vertices = reader.nextInt();
+                    break;
+                case "nodes":
+                    nodes = readNodes();
+                    if (count == 0) {
+                        for (int i = 0; i < nodes.length; i++) {
+                            labelIds.put(nodes[i], i);
+                            seenLabels.add(nodes[i]);
+                        }
+                    }
+                    break;
+                case "edges":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        if (count == us.capacity()) {
+                            int grown = (int) Math.min(OffHeapGraphBuilder.MAX_EDGES, count + (count >> 1) + 1L);
+                            if (grown == count) throw new IOException("Graph has more than " + count + " edges");
+                            us = grow(us, count, grown);
+                            vs = grow(vs, count, grown);
+                            ws = grow(ws, count, grown);
+                        }
+                        int u = -1, v = -1, w = 0;
+                        boolean hasWeight = false;
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            switch (reader.nextName()) {
+                                case "from": u = labelId(reader.nextString(), labelIds, seenLabels); labelled = true; break;
+                                case "to": v = labelId(reader.nextString(), labelIds, seenLabels); labelled = true; break;
+                                case "u": u = reader.nextInt(); break;
+                                case "v": v = reader.nextInt(); break;
+                                case "weight": w = reader.nextInt(); hasWeight = true; break;
+                                default: reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                        if (u < 0 || v < 0 || !hasWeight) {
+                            throw new IOException("Edge " + count + " needs from/to (or u/v) and weight");
+                        }
+                        us.put(count, u);
+                        vs.put(count, v);
+                        ws.put(count, w);
+                        count++;
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (id == null) throw new IOException("Graph without \"id\"");
+        String[] labels;
+        if (nodes != null) {
+            labels = nodes;
+            if (labelled) remapToNodeOrder(id, nodes, seenLabels, us, vs, count);
+        } else if (labelled) {
+            labels = seenLabels.toArray(new String[0]);
+        } else {
+            if (vertices < 0) throw new IOException("Graph " + id + " has neither \"nodes\" nor \"vertices\"");
+            labels = new String[vertices];
+            for (int i = 0; i < vertices; i++) labels[i] = String.valueOf(i);
+        }
+        for (int i = 0; i < count; i++) {
+            if (us.get(i) >= labels.length || vs.get(i) >= labels.length) {
+                throw new IOException("Graph " + id + " edge " + i + " references a vertex outside 0.." + (labels.length - 1));
+            }
+        }
+        Graph graph = us.isDirect()
+                ? OffHeapGraphBuilder.build(id, labels.length, us, vs, ws, count)
+                : new Graph(id, labels.length, Arrays.copyOf(us.array(), count), Arrays.copyOf(vs.array(), count),
+                        Arrays.copyOf(ws.array(), count));
+        return new GraphInput(graph, labels);
+    }
+
+    private IntBuffer allocate(int capacity) {
+        return offHeap ? OffHeapGraphBuilder.allocate(capacity) : IntBuffer.wrap(new int[capacity]);
+    }
+
+    private IntBuffer grow(IntBuffer buffer, int count, int capacity) {
+        IntBuffer grown = buffer.isDirect() ? OffHeapGraphBuilder.allocate(capacity) : IntBuffer.wrap(new int[capacity]);
+        IntBuffer used = buffer.duplicate();
+        used.position(0).limit(count);
+        grown.put(used).clear();
+        return grown;
+    }
+
+    private String[] readNodes() throws IOException {
+        List<String> nodes = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            nodes.add(reader.peek() == JsonToken.NUMBER ? String.valueOf(reader.nextInt()) : reader.nextString());
+        }
+        reader.endArray();
+        return nodes.toArray(new String[0]);
+    }
+
+    private static int labelId(String label, Map<String, Integer> labelIds, List<String> seenLabels) {
+        Integer known = labelIds.get(label);
+        if (known != null) return known;
+        int next = seenLabels.size();
+        labelIds.put(label, next);
+        seenLabels.add(label);
+        return next;
+    }
+
+    private static void remapToNodeOrder(int id, String[] nodes, List<String> seenLabels, IntBuffer us, IntBuffer vs, int count)
+            throws IOException {
+        Map<String, Integer> nodeIndex = new HashMap<>();
+        for (int i = 0; i < nodes.length; i++) nodeIndex.put(nodes[i], i);
+        int[] remap = new int[seenLabels.size()];
+        boolean identity = true;
+        for (int p = 0; p < remap.length; p++) {
+            Integer index = nodeIndex.get(seenLabels.get(p));
+            if (index == null) throw new IOException("Graph " + id + " references unknown node " + seenLabels.get(p));
+            remap[p] = index;
+            identity &= index == p;
+        }
+        if (identity) return;
+        for (int i = 0; i < count; i++) {
+            us.put(i, remap[us.get(i)]);
+            vs.put(i, remap[vs.get(i)]);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.example;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams an input.json file ({@code {"graphs": [...]}}) one graph at a time, in the
+ * labelled layout {@link JsonGraphReader} reads back. Counterpart of {@link JsonResultWriter}
+ * for inputs; no graph is ever turned into a JSON object tree.
+ */
+public class JsonGraphWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final JsonWriter writer;
+    private int written;
+
+    public JsonGraphWriter(Writer out, boolean pretty) throws IOException {
+        this.writer = new JsonWriter(out);
+        if (pretty) writer.setIndent("    ");
+        writer.beginObject();
+        writer.name("graphs");
+        writer.beginArray();
+    }
+
+    public static JsonGraphWriter open(Path path, boolean pretty) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        return new JsonGraphWriter(new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8), BUFFER_SIZE), pretty);
+    }
+
+    public void write(GraphInput input) throws IOException {
+        Graph graph = input.graph;
+        String[] labels = input.labels;
+        writer.beginObject();
+        writer.name("id").value(graph.getId());
+        writer.name("nodes").beginArray();
+        for (String label : labels) writer.value(label);
+        writer.endArray();
+        writer.name("edges").beginArray();
+        for (int i = 0; i < graph.getEdgeCount(); i++) {
+            writer.beginObject()
+                    .name("from").value(labels[graph.edgeU(i)])
+                    .name("to").value(labels[graph.edgeV(i)])
+                    .name("weight").value(graph.edgeWeight(i))
+                    .endObject();
+        }
+        writer.endArray();
+        writer.endObject();
+        written++;
+    }
+
+    public int getWritten() { return written; }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            writer.endArray();
+            writer.endObject();
+        } catch (IllegalStateException e) {
+            // A graph was cut off half-way by a failure; the file is left incomplete.
+        } finally {
+            writer.close();
+        }
+    }
+}
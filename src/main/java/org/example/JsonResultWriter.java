@@ -0,0 +1,133 @@
+package org.example;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams output.json as {@code {"results": [...]}}, writing and flushing each
+ * graph's entry as soon as it is handed over instead of holding the whole batch
+ * in memory. Pretty-printing is optional; compact output is cheaper to produce
+ * and parse for large batches.
+ */
+public class JsonResultWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final JsonWriter writer;
+    private int written;
+
+    public JsonResultWriter(Writer out, boolean pretty) throws IOException {
+        this.writer = new JsonWriter(out);
+        if (pretty) writer.setIndent("    ");
+        writer.beginObject();
+        writer.name("results");
+        writer.beginArray();
+    }
+
+    public static JsonResultWriter open(Path path, boolean pretty) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        Writer out = new java.io.BufferedWriter(
+                Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE);
+        return new JsonResultWriter(out, pretty);
+    }
+
+    public void write(BatchRunner.GraphResult result) throws IOException {
+        writer.beginObject();
+        writer.name("graph_id").value(result.graphId);
+        writer.name("input_stats").beginObject()
+                .name("vertices").value(result.vertices)
+                .name("edges").value(result.edges)
+                .endObject();
+        for (BatchRunner.AlgorithmRun run : result.runs) {
+            writer.name(run.algorithm.getJsonKey());
+            writeRun(run, result.labels);
+        }
+        writer.endObject();
+        writer.flush();
+        written++;
+    }
+
+    public int getWritten() { return written; }
+
+    private void writeRun(BatchRunner.AlgorithmRun run, String[] labels) throws IOException {
+        Metrics metrics = run.metrics;
+        writer.beginObject();
+        writer.name("mst_edges").beginArray();
+        for (Edge e : run.mstEdges) {
+            writer.beginObject()
+                    .name("from").value(labels[e.u])
+                    .name("to").value(labels[e.v])
+                    .name("weight").value(e.weight)
+                    .endObject();
+        }
+        writer.endArray();
+        writer.name("total_cost").value(run.totalWeight);
+        writer.name("operations_count").value(metrics.getTotalOperations());
+        writer.name("execution_time_ms").value(metrics.getExecutionTimeMs());
+        if (metrics.getRounds() > 0) {
+            writer.name("rounds").value(metrics.getRounds());
+            writer.name("parallel_work").value(metrics.getParallelWork());
+        }
+        if (metrics.getComponents() != null) {
+            writer.name("component_count").value(metrics.getComponents().size() + metrics.getSingletons());
+            writer.name("singletons").value(metrics.getSingletons());
+            writer.name("components").beginArray();
+            for (SpanningForest.Component c : metrics.getComponents()) {
+                writer.beginObject()
+                        .name("component").value(c.id)
+                        .name("vertices").value(c.vertices)
+                        .name("edges").value(c.edges)
+                        .name("total_cost").value(c.totalWeight)
+                        .endObject();
+            }
+            writer.endArray();
+        } else if (run.mstEdges.size() < labels.length - 1) {
+            // The graph is disconnected and the result spans only part of it; see --forest.
+            writer.name("spans_all_vertices").value(false);
+        }
+        if (!metrics.getVariant().isEmpty()) writer.name("variant").value(metrics.getVariant());
+        if (metrics.isCached()) writer.name("cached").value(true);
+        LatencyHistogram latency = metrics.getLatency();
+        if (latency != null) {
+            writer.name("timing").beginObject()
+                    .name("warmup_iterations").value(run.warmupIterations)
+                    .name("iterations").value(latency.getCount())
+                    .name("min_ms").value(round(latency.getMin()))
+                    .name("median_ms").value(round(latency.getMedian()))
+                    .name("p90_ms").value(round(latency.percentile(90)))
+                    .name("p99_ms").value(round(latency.percentile(99)))
+                    .name("max_ms").value(round(latency.getMax()))
+                    .name("stddev_ms").value(round(latency.getStdDev()))
+                    .endObject();
+        }
+        if (!Double.isNaN(metrics.getPredictedMs())) writer.name("predicted_ms").value(metrics.getPredictedMs());
+        writer.endObject();
+    }
+
+    private static double round(double ms) {
+        return Math.round(ms * 1000.0) / 1000.0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            writer.endArray();
+            writer.endObject();
+        } catch (IllegalStateException e) {
+            // An entry was cut off half-way by a failure; close() reports the incomplete document.
+        } finally {
+            writer.close();
+        }
+    }
+}
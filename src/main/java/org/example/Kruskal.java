@@ -24,7 +24,7 @@ public class Kruskal {
     }
 
     public static Result findMST(Graph graph) {
-        Metrics m = new Metrics(graph.getId(), graph.getVertices(), graph.getEdges().size(), "Kruskal");
+        Metrics m = new Metrics(graph.getId(), graph.getVertices(), graph.getEdgeCount(), "Kruskal");
         return findMST(graph, m);
     }
 
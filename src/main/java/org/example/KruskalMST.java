@@ -1,5 +1,6 @@
 package org.example;
 
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 
 public class KruskalMST {
@@ -15,44 +16,35 @@ public class KruskalMST {
         }
     }
 
-    private static int find(int[] parent, int i, Metrics metrics) {
-        metrics.incrementComparison();
-        if (parent[i] == -1) return i;
-        return find(parent, parent[i], metrics);
-    }
-
-    private static void union(int[] parent, int x, int y, Metrics metrics) {
-        int xRoot = find(parent, x, metrics);
-        int yRoot = find(parent, y, metrics);
-        if (xRoot != yRoot) {
-            parent[xRoot] = yRoot;
-            metrics.incrementUnion();
-        }
-    }
-
     public static Result findMST(Graph graph, Metrics metrics) {
         metrics.startTimer();
         int vertices = graph.getVertices();
-        int[] parent = new int[vertices];
-        java.util.Arrays.fill(parent, -1);
-        ArrayList<Edge> edges = new ArrayList<>(graph.getEdges());
-        java.util.Collections.sort(edges);
+        DisjointSet sets = new DisjointSet(vertices);
+        // An off-heap graph keeps its edge order off the heap too; only the O(V) sets stay on it.
+        IntBuffer order = graph.isOffHeap() ? EdgeSorter.sortByWeightOffHeap(graph) : IntBuffer.wrap(EdgeSorter.sortByWeight(graph));
 
         int totalWeight = 0;
         ArrayList<Edge> mstEdges = new ArrayList<>();
-        for (Edge edge : edges) {
-            int x = find(parent, edge.u, metrics);
-            int y = find(parent, edge.v, metrics);
-            if (x != y) {
-                union(parent, x, y, metrics);
-                totalWeight += edge.weight;
-                mstEdges.add(edge);
+        for (int k = 0, m = order.limit(); k < m; k++) {
+            int e = order.get(k);
+            int x = sets.find(graph.edgeU(e));
+            int y = sets.find(graph.edgeV(e));
+            if (sets.unionRoots(x, y)) {
+                int w = graph.edgeWeight(e);
+                totalWeight += w;
+                mstEdges.add(new Edge(graph.edgeU(e), graph.edgeV(e), w));
                 if (mstEdges.size() == vertices - 1) break;
             }
         }
+        recordSetOperations(sets, metrics);
 
         metrics.stopTimer();
         metrics.setTotalCost(totalWeight);
         return new Result(totalWeight, mstEdges, metrics);
     }
-}
\ No newline at end of file
+
+    static void recordSetOperations(DisjointSet sets, Metrics metrics) {
+        metrics.addComparisons(sets.getFindCount());
+        metrics.addUnions(sets.getUnionCount());
+    }
+}
@@ -0,0 +1,62 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Per-iteration timings of one (graph, algorithm) pair in benchmark mode. Iteration
+ * counts are small, so every sample is kept and percentiles are exact (nearest rank).
+ */
+public class LatencyHistogram {
+    private double[] samples = new double[16];
+    private int count;
+    private boolean sorted = true;
+
+    public void record(double timeMs) {
+        if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+        samples[count++] = timeMs;
+        sorted = false;
+    }
+
+    public int getCount() { return count; }
+
+    public double getMin() { return percentile(0); }
+    public double getMedian() { return percentile(50); }
+    public double getMax() { return percentile(100); }
+
+    /** Nearest-rank percentile, {@code p} in [0, 100]. */
+    public double percentile(double p) {
+        if (count == 0) throw new IllegalStateException("No samples recorded");
+        if (p < 0 || p > 100) throw new IllegalArgumentException("Percentile out of range: " + p);
+        if (!sorted) {
+            Arrays.sort(samples, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * count);
+        return samples[Math.max(0, rank - 1)];
+    }
+
+    public double getMean() {
+        double sum = 0;
+        for (int i = 0; i < count; i++) sum += samples[i];
+        return count == 0 ? 0 : sum / count;
+    }
+
+    /** Sample standard deviation; 0 for fewer than two samples. */
+    public double getStdDev() {
+        if (count < 2) return 0;
+        double mean = getMean();
+        double squares = 0;
+        for (int i = 0; i < count; i++) {
+            double d = samples[i] - mean;
+            squares += d * d;
+        }
+        return Math.sqrt(squares / (count - 1));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "n=%d min=%.3f median=%.3f p90=%.3f p99=%.3f max=%.3f sd=%.3f",
+                count, getMin(), getMedian(), percentile(90), percentile(99), getMax(), getStdDev());
+    }
+}
@@ -0,0 +1,50 @@
+package org.example;
+
+/**
+ * Open-addressing set of non-zero {@code long} keys (0 marks an empty slot), used to
+ * deduplicate packed edge keys without boxing. Not thread-safe.
+ */
+final class LongHashSet {
+    private long[] table;
+    private int size;
+
+    LongHashSet(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;
+        table = new long[capacity];
+    }
+
+    /** Adds {@code key} (which must not be 0); returns false if it was already present. */
+    boolean add(long key) {
+        if (key == 0) throw new IllegalArgumentException("0 is reserved for empty slots");
+        if (2 * (size + 1) > table.length) grow();
+        if (!insert(table, key)) return false;
+        size++;
+        return true;
+    }
+
+    int size() { return size; }
+
+    private static boolean insert(long[] table, long key) {
+        int mask = table.length - 1;
+        int i = (int) mix(key) & mask;
+        while (table[i] != 0) {
+            if (table[i] == key) return false;
+            i = (i + 1) & mask;
+        }
+        table[i] = key;
+        return true;
+    }
+
+    private void grow() {
+        long[] bigger = new long[table.length * 2];
+        for (long key : table) {
+            if (key != 0) insert(bigger, key);
+        }
+        table = bigger;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        return z ^ (z >>> 33);
+    }
+}
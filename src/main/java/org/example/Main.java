@@ -1,142 +1,289 @@
 package org.example;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 
 public class Main {
-    public static void main(String[] args) {
+    private static final String USAGE = "Usage: Main [--algorithms=prim,kruskal,filter_kruskal,boruvka]"
+            + " [--batch] [--threads=N] [--executor=platform|virtual] [--skip-generate] [--compact-output]"
+            + " [--binary-dir=DIR] [--input-order] [--metrics=count|off|striped]"
+            + " [--warmup=M] [--iterations=N] [--cache] [--auto] [--forest] [--off-heap] [--seed=S]"
+            + " [--no-render] [--render-workers=N] [--render-queue=N] [--render-policy=block|skip|drop_oldest]"
+            + " [--family=grid,path,... --sizes=N,N,... [--degree=K]]";
 
-        InputJSONGenerator generator = new InputJSONGenerator();
-        try {
-            generator.generateAndSave();
-        } catch (IOException e) {
-            System.err.println("Failed to generate input.json: " + e.getMessage());
-            return;
-        }
+    private static final int CACHE_MEMORY_ENTRIES = 256;
+    private static final int DEFAULT_RENDER_QUEUE = 4;
+    /** Every uncached run is appended here in results.csv format; {@code --auto} fits its cost model to it. */
+    private static final Path COST_HISTORY = Paths.get("data/cost-history.csv");
+    /** Newest rows of each cost model kept in {@link #COST_HISTORY}; older ones are dropped after every run. */
+    private static final int COST_HISTORY_ROWS = 500;
+    private static final Path RESULTS = Paths.get("data/results.csv");
 
-        JSONArray results = new JSONArray();
-        try {
-            String content = new String(Files.readAllBytes(Paths.get("data/input.json")));
-            JSONObject jsonObject = new JSONObject(content);
-            JSONArray graphs = jsonObject.getJSONArray("graphs");
-
-            Metrics[] allMetrics = new Metrics[graphs.length() * 2]; // For Prim and Kruskal
-            int metricsIndex = 0;
-
-            for (int i = 0; i < graphs.length(); i++) {
-                JSONObject gobj = graphs.getJSONObject(i);
-                int id = gobj.getInt("id");
-                JSONArray nodes = gobj.getJSONArray("nodes");
-                JSONArray edgesLabeled = gobj.getJSONArray("edges");
-
-                // Build label -> index map
-                Map<String, Integer> idx = new HashMap<>();
-                String[] labels = new String[nodes.length()];
-                for (int v = 0; v < nodes.length(); v++) {
-                    String label = nodes.getString(v);
-                    labels[v] = label;
-                    idx.put(label, v);
-                }
+    /** Results held back to put graphs in id order; see {@link BatchRunner#setOrderWindow}. */
+    private static final int ID_ORDER_WINDOW = 64;
 
-                // Convert labeled edges to numeric for internal Graph
-                JSONArray edgesNumeric = new JSONArray();
-                for (int e = 0; e < edgesLabeled.length(); e++) {
-                    JSONObject eobj = edgesLabeled.getJSONObject(e);
-                    String from = eobj.getString("from");
-                    String to = eobj.getString("to");
-                    int w = eobj.getInt("weight");
-                    int u = idx.get(from);
-                    int v = idx.get(to);
-                    edgesNumeric.put(new JSONObject().put("u", u).put("v", v).put("weight", w));
+    public static void main(String[] args) {
+        List<MstAlgorithm> algorithms = Arrays.asList(MstAlgorithm.values());
+        int threads = 1;
+        String executorKind = "platform";
+        boolean generate = true;
+        boolean inputOrder = false;
+        boolean prettyOutput = true;
+        Path binaryDir = null;
+        Supplier<OperationCounter> counters = OperationCounter::counting;
+        int warmup = 0;
+        int iterations = 1;
+        boolean useCache = false;
+        boolean auto = false;
+        boolean forest = false;
+        boolean offHeap = false;
+        Long seed = null;
+        List<GraphFamily> families = null;
+        int[] sizes = null;
+        double degree = GraphFamily.DEFAULT_AVERAGE_DEGREE;
+        boolean render = true;
+        int renderWorkers = 1;
+        int renderQueue = DEFAULT_RENDER_QUEUE;
+        RenderService.Policy renderPolicy = RenderService.Policy.BLOCK;
+        for (String arg : args) {
+            try {
+                if (arg.startsWith("--algorithms=")) {
+                    algorithms = MstAlgorithm.parseList(arg.substring("--algorithms=".length()));
+                } else if (arg.equals("--batch")) {
+                    threads = Runtime.getRuntime().availableProcessors();
+                } else if (arg.startsWith("--threads=")) {
+                    threads = Integer.parseInt(arg.substring("--threads=".length()));
+                } else if (arg.startsWith("--executor=")) {
+                    executorKind = arg.substring("--executor=".length());
+                } else if (arg.equals("--skip-generate")) {
+                    generate = false;
+                } else if (arg.equals("--input-order")) {
+                    inputOrder = true;
+                } else if (arg.equals("--compact-output")) {
+                    prettyOutput = false;
+                } else if (arg.startsWith("--binary-dir=")) {
+                    binaryDir = Paths.get(arg.substring("--binary-dir=".length()));
+                } else if (arg.startsWith("--metrics=")) {
+                    counters = OperationCounter.forMode(arg.substring("--metrics=".length()));
+                } else if (arg.startsWith("--family=")) {
+                    families = GraphFamily.parseList(arg.substring("--family=".length()));
+                } else if (arg.startsWith("--sizes=")) {
+                    sizes = Arrays.stream(arg.substring("--sizes=".length()).split(","))
+                            .map(String::trim).mapToInt(Integer::parseInt).toArray();
+                } else if (arg.startsWith("--degree=")) {
+                    degree = Double.parseDouble(arg.substring("--degree=".length()));
+                } else if (arg.startsWith("--seed=")) {
+                    seed = Long.parseLong(arg.substring("--seed=".length()));
+                } else if (arg.equals("--cache")) {
+                    useCache = true;
+                } else if (arg.equals("--auto")) {
+                    auto = true;
+                } else if (arg.equals("--forest")) {
+                    forest = true;
+                } else if (arg.equals("--off-heap")) {
+                    offHeap = true;
+                } else if (arg.equals("--no-render")) {
+                    render = false;
+                } else if (arg.startsWith("--render-workers=")) {
+                    renderWorkers = Integer.parseInt(arg.substring("--render-workers=".length()));
+                    if (renderWorkers < 1) throw new IllegalArgumentException("--render-workers must be positive");
+                } else if (arg.startsWith("--render-queue=")) {
+                    renderQueue = Integer.parseInt(arg.substring("--render-queue=".length()));
+                    if (renderQueue < 1) throw new IllegalArgumentException("--render-queue must be positive");
+                } else if (arg.startsWith("--render-policy=")) {
+                    renderPolicy = RenderService.Policy.fromName(arg.substring("--render-policy=".length()));
+                } else if (arg.startsWith("--warmup=")) {
+                    warmup = Integer.parseInt(arg.substring("--warmup=".length()));
+                    if (warmup < 0) throw new IllegalArgumentException("--warmup must not be negative");
+                } else if (arg.startsWith("--iterations=")) {
+                    iterations = Integer.parseInt(arg.substring("--iterations=".length()));
+                    if (iterations < 1) throw new IllegalArgumentException("--iterations must be positive");
+                } else {
+                    throw new IllegalArgumentException("Unknown option: " + arg);
                 }
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                System.err.println(USAGE);
+                return;
+            }
+        }
 
-                Graph graph = new Graph(id, nodes.length(), edgesNumeric);
-
-                Metrics primMetrics = new Metrics(graph.getId(), graph.getVertices(), graph.getEdges().size(), "Prim");
-                Prim.Result primResult = Prim.findMST(graph, primMetrics);
-                allMetrics[metricsIndex++] = primMetrics;
-
-                Metrics kruskalMetrics = new Metrics(graph.getId(), graph.getVertices(), graph.getEdges().size(), "Kruskal");
-                Kruskal.Result kruskalResult = Kruskal.findMST(graph, kruskalMetrics);
-                allMetrics[metricsIndex++] = kruskalMetrics;
-
-                JSONObject result = new JSONObject();
-                result.put("graph_id", graph.getId());
-                result.put("input_stats", new JSONObject()
-                        .put("vertices", graph.getVertices())
-                        .put("edges", graph.getEdges().size()));
-
-                JSONObject primJson = new JSONObject();
-                primJson.put("mst_edges", getLabeledEdgeList(primResult.parent, graph, labels));
-                primJson.put("total_cost", primResult.totalWeight);
-                primJson.put("operations_count", primMetrics.getTotalOperations());
-                primJson.put("execution_time_ms", primMetrics.getExecutionTimeMs());
-                result.put("prim", primJson);
+        if ((families == null) != (sizes == null) || (families != null && !generate)) {
+            System.err.println("--family and --sizes go together and need input.json to be generated");
+            System.err.println(USAGE);
+            return;
+        }
 
-                JSONObject krJson = new JSONObject();
-                krJson.put("mst_edges", toLabeledEdgeArray(kruskalResult.mstEdges, labels));
-                krJson.put("total_cost", kruskalResult.totalWeight);
-                krJson.put("operations_count", kruskalMetrics.getTotalOperations());
-                krJson.put("execution_time_ms", kruskalMetrics.getExecutionTimeMs());
-                result.put("kruskal", krJson);
+        if (generate) {
+            InputJSONGenerator generator = seed != null ? new InputJSONGenerator(seed) : new InputJSONGenerator();
+            try {
+                if (families != null) {
+                    generator.generateFamilies(families, sizes, degree, Paths.get("data/input.json"));
+                } else {
+                    generator.generateAndSave();
+                }
+            } catch (IOException e) {
+                System.err.println("Failed to generate input.json: " + e.getMessage());
+                return;
+            }
+        }
 
-                results.put(result);
+        ExecutorService executor;
+        try {
+            executor = BatchRunner.newExecutor(executorKind, threads);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return;
+        }
 
-                GraphVisualizer.visualize(graph, "reports/graphs/graph_" + graph.getId() + ".png");
+        List<Metrics> allMetrics = new ArrayList<>();
+        Path inputPath = Paths.get("data/input.json");
+        // The renderer is closed last, so images queued before a failure still finish.
+        try (RenderService renderer = render ? new RenderService(renderWorkers, renderQueue, renderPolicy) : null;
+             JsonGraphReader reader = binaryDir == null ? JsonGraphReader.open(inputPath).setOffHeap(offHeap) : null;
+             JsonResultWriter output = JsonResultWriter.open(Paths.get("data/output.json"), prettyOutput)) {
+            Iterator<GraphInput> inputs = reader;
+            if (binaryDir != null) {
+                inputs = BinaryGraphFormat.iterate(openBinaryGraphs(binaryDir, inputPath, generate));
             }
 
-            JSONObject output = new JSONObject();
-            output.put("results", results);
-            try (FileWriter file = new FileWriter("data/output.json")) {
-                file.write(output.toString(4));
-                System.out.println("✅ Saved results to data/output.json");
+            BatchRunner runner = new BatchRunner(executor, algorithms, threads, renderer, counters)
+                    .setIterations(warmup, iterations)
+                    .setOrderWindow(inputOrder ? 0 : ID_ORDER_WINDOW);
+            MstCache cache = useCache ? new MstCache(CACHE_MEMORY_ENTRIES, Paths.get("data/mst-cache")) : null;
+            runner.setCache(cache).setForest(forest);
+            if (auto) {
+                CostModel model = CostModel.fit(Files.exists(COST_HISTORY) ? COST_HISTORY : RESULTS);
+                System.out.println("Cost model: " + model);
+                runner.setSolver(new MstSolver(model, algorithms));
+            }
+            runner.run(inputs, graphResult -> {
+                try {
+                    output.write(graphResult);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                for (BatchRunner.AlgorithmRun run : graphResult.runs) {
+                    allMetrics.add(run.metrics);
+                }
+            });
+            System.out.println("✅ Saved " + output.getWritten() + " results to data/output.json");
+            if (cache != null) {
+                System.out.println("MST cache: " + cache.getHits() + " hits, " + cache.getMisses() + " misses");
             }
 
-            Metrics.writeCsv("data/results.csv", allMetrics, false);
+            Metrics[] metricsArray = allMetrics.toArray(new Metrics[0]);
+            Metrics.writeCsv(RESULTS.toString(), metricsArray, false);
             System.out.println("✅ Saved results to data/results.csv");
+            Metrics[] measured = allMetrics.stream().filter(m -> !m.isCached()).toArray(Metrics[]::new);
+            if (measured.length > 0) {
+                Metrics.writeCsv(COST_HISTORY.toString(), measured, true);
+                CostModel.trimHistory(COST_HISTORY, COST_HISTORY_ROWS);
+            }
+            if (auto) {
+                printPredictionError(metricsArray);
+            }
+
+            ReportPlotter.generatePlots(metricsArray, "reports/plots");
 
-            ReportPlotter.generatePlots(allMetrics, "reports/plots");
+            if (renderer != null) {
+                renderer.finish();
+                System.out.println("✅ Rendered " + (renderer.getSubmitted() - renderer.getDropped()) + " graph images to reports/graphs"
+                        + (renderer.getDropped() > 0 ? " (" + renderer.getDropped() + " dropped, render queue full)" : ""));
+            }
         } catch (IOException e) {
             System.err.println("Failed to read/process input.json: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            System.err.println("Failed to read/process input.json: " + e.getCause().getMessage());
+        } catch (ExecutionException e) {
+            System.err.println("Batch run failed: " + e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Batch run interrupted");
+        } finally {
+            executor.shutdownNow();
         }
     }
 
-    private static JSONArray getLabeledEdgeList(int[] parent, Graph graph, String[] labels) {
-        JSONArray edgeList = new JSONArray();
-        for (int v = 1; v < graph.getVertices(); v++) {
-            if (parent[v] != -1) {
-                edgeList.put(new JSONObject()
-                        .put("from", labels[parent[v]])
-                        .put("to", labels[v])
-                        .put("weight", getEdgeWeight(parent[v], v, graph.getEdges())));
-            }
-        }
-        return edgeList;
+    /** Median relative error of the cost model's predictions over this run's uncached results. */
+    private static void printPredictionError(Metrics[] metrics) {
+        double[] errors = Arrays.stream(metrics)
+                .filter(m -> !m.isCached() && !Double.isNaN(m.getPredictedMs()) && m.getExecutionTimeMs() > 0)
+                .mapToDouble(m -> Math.abs(m.getPredictedMs() - m.getExecutionTimeMs()) / m.getExecutionTimeMs())
+                .sorted()
+                .toArray();
+        if (errors.length == 0) return;
+        System.out.printf(Locale.US, "Cost model: median prediction error %.0f%% over %d runs (refitted from %s next run)%n",
+                100 * errors[errors.length / 2], errors.length, COST_HISTORY);
     }
 
-    private static int getEdgeWeight(int u, int v, List<Edge> edges) {
-        for (Edge edge : edges) {
-            if ((edge.u == u && edge.v == v) || (edge.u == v && edge.v == u)) {
-                return edge.weight;
-            }
+    /** Lists the binary graphs in {@code dir}, converting input.json first if it is new or the directory is empty. */
+    private static List<Path> openBinaryGraphs(Path dir, Path inputPath, boolean inputRegenerated) throws IOException {
+        List<Path> files = Files.isDirectory(dir) ? BinaryGraphFormat.list(dir) : new ArrayList<>();
+        if (inputRegenerated || files.isEmpty()) {
+            for (Path stale : files) Files.delete(stale);
+            int count = BinaryGraphFormat.convert(inputPath, dir);
+            System.out.println("Converted " + count + " graphs to " + dir);
+            files = BinaryGraphFormat.list(dir);
         }
-        return -1;
+        return files;
     }
 
-    private static JSONArray toLabeledEdgeArray(java.util.List<Edge> edges, String[] labels) {
-        JSONArray arr = new JSONArray();
-        if (edges != null) {
-            for (Edge e : edges) {
-                arr.put(new JSONObject().put("from", labels[e.u]).put("to", labels[e.v]).put("weight", e.weight));
+    /**
+     * With {@code forest}, solves each connected component separately through {@link SpanningForest}
+     * and records the per-component totals in {@code metrics}.
+     */
+    static MstCache.Entry solve(MstAlgorithm algorithm, Graph graph, Metrics metrics, boolean forest) {
+        if (!forest) return solve(algorithm, graph, metrics);
+        SpanningForest.Result r = SpanningForest.findForest(graph, metrics, (component, m) -> solve(algorithm, component, m));
+        metrics.setForest(r.components, r.singletons);
+        return new MstCache.Entry(r.totalWeight, r.forestEdges, metrics.getExecutionTimeMs(), metrics.getTotalOperations());
+    }
+
+    /** Runs {@code algorithm} and returns its tree with the run's time and operation count. */
+    static MstCache.Entry solve(MstAlgorithm algorithm, Graph graph, Metrics metrics) {
+        ArrayList<Edge> mstEdges;
+        int totalCost;
+        switch (algorithm) {
+            case PRIM: {
+                Prim.Result r = Prim.findMST(graph, metrics);
+                mstEdges = r.getMstEdges();
+                totalCost = r.totalWeight;
+                break;
+            }
+            case KRUSKAL: {
+                Kruskal.Result r = Kruskal.findMST(graph, metrics);
+                mstEdges = r.mstEdges;
+                totalCost = r.totalWeight;
+                break;
+            }
+            case FILTER_KRUSKAL: {
+                KruskalMST.Result r = FilterKruskalMST.findMST(graph, metrics);
+                mstEdges = r.mstEdges;
+                totalCost = r.totalWeight;
+                break;
+            }
+            case BORUVKA: {
+                KruskalMST.Result r = BoruvkaMST.findMST(graph, metrics);
+                mstEdges = r.mstEdges;
+                totalCost = r.totalWeight;
+                break;
             }
+            default:
+                throw new IllegalArgumentException("Unsupported algorithm: " + algorithm);
         }
-        return arr;
+        return new MstCache.Entry(totalCost, mstEdges, metrics.getExecutionTimeMs(), metrics.getTotalOperations());
     }
 }
\ No newline at end of file
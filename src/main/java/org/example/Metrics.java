@@ -1,14 +1,19 @@
 package org.example;
 
 import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.List;
 import java.util.Locale;
 
+/**
+ * Timing, cost and operation counts of one algorithm run on one graph. The counts are
+ * kept by an {@link OperationCounter}; pass {@link OperationCounter#disabled()} to time
+ * a run without paying for instrumentation in its inner loops.
+ */
 public class Metrics {
-    private long comparisons = 0;
-    private long unions = 0;
-    private long pqOperations = 0;
+    private final OperationCounter counter;
     private long startTime;
     private double executionTimeMs = 0.0;
     private final int graphId;
@@ -16,8 +21,21 @@ public class Metrics {
     private final int edges;
     private final String algorithmName;
     private int totalCost;
+    private LatencyHistogram latency;
+    private boolean cached;
+    private long cachedOperations;
+    private String variant = "";
+    private long weightRange = -1;
+    private double predictedMs = Double.NaN;
+    private List<SpanningForest.Component> components;
+    private int singletons;
 
     public Metrics(int graphId, int vertices, int edges, String algorithmName) {
+        this(graphId, vertices, edges, algorithmName, OperationCounter.counting());
+    }
+
+    public Metrics(int graphId, int vertices, int edges, String algorithmName, OperationCounter counter) {
+        this.counter = counter;
         this.graphId = graphId;
         this.vertices = vertices;
         this.edges = edges;
@@ -38,16 +56,108 @@ public class Metrics {
         }
     }
 
+    /**
+     * Attaches the timings of repeated runs; the reported execution time becomes
+     * their median instead of the last single sample.
+     */
+    public void recordIterations(LatencyHistogram latency) {
+        this.latency = latency;
+        this.executionTimeMs = latency.getMedian();
+    }
+
+    /** Timings of repeated runs, or {@code null} for a single run. */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Marks this run as answered from {@link MstCache}. Time and operation count then
+     * report the figures of the run that computed the cached tree.
+     */
+    public void markCached(MstCache.Entry entry) {
+        this.cached = true;
+        this.executionTimeMs = entry.executionTimeMs;
+        this.cachedOperations = entry.operations;
+        this.totalCost = entry.totalWeight;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    /** Which implementation of the algorithm ran, e.g. {@code dense} or {@code heap} for Prim. */
+    public void setVariant(String variant) {
+        this.variant = variant;
+    }
+
+    public String getVariant() {
+        return variant;
+    }
+
+    /** max - min + 1 over the graph's edge weights, or -1 if it was not measured. */
+    public void setWeightRange(long weightRange) {
+        this.weightRange = weightRange;
+    }
+
+    public long getWeightRange() {
+        return weightRange;
+    }
+
+    /** The time {@link CostModel} predicted for this run, or NaN if it was not chosen by {@link MstSolver}. */
+    public void setPredictedMs(double predictedMs) {
+        this.predictedMs = predictedMs;
+    }
+
+    public double getPredictedMs() {
+        return predictedMs;
+    }
+
+    /** Per-component totals of a spanning-forest run; {@code components} excludes the singletons. */
+    public void setForest(List<SpanningForest.Component> components, int singletons) {
+        this.components = components;
+        this.singletons = singletons;
+    }
+
+    /** The non-singleton components of a spanning-forest run, or {@code null} for a plain MST run. */
+    public List<SpanningForest.Component> getComponents() {
+        return components;
+    }
+
+    public int getSingletons() {
+        return singletons;
+    }
+
     public void incrementComparison() {
-        comparisons++;
+        counter.incrementComparison();
     }
 
     public void incrementUnion() {
-        unions++;
+        counter.incrementUnion();
     }
 
     public void incrementPQOperation() {
-        pqOperations++;
+        counter.incrementPQOperation();
+    }
+
+    public void addComparisons(long count) {
+        counter.addComparisons(count);
+    }
+
+    public void addUnions(long count) {
+        counter.addUnions(count);
+    }
+
+    public void addPQOperations(long count) {
+        counter.addPQOperations(count);
+    }
+
+    public void incrementRound() {
+        counter.incrementRound();
+    }
+
+    /** Records units of work (e.g. edges scanned) done by parallel tasks. */
+    public void addParallelWork(long count) {
+        counter.addParallelWork(count);
     }
 
     public void setTotalCost(int totalCost) {
@@ -55,11 +165,23 @@ public class Metrics {
     }
 
     public long getComparisons() {
-        return comparisons;
+        return counter.getComparisons();
     }
 
     public long getUnions() {
-        return unions;
+        return counter.getUnions();
+    }
+
+    public long getRounds() {
+        return counter.getRounds();
+    }
+
+    public long getParallelWork() {
+        return counter.getParallelWork();
+    }
+
+    public OperationCounter getCounter() {
+        return counter;
     }
 
 //    public long getPQOperations() {
@@ -67,7 +189,7 @@ public class Metrics {
 //    }
 
     public long getTotalOperations() {
-        return comparisons + unions + pqOperations;
+        return counter.getComparisons() + counter.getUnions() + counter.getPQOperations() + cachedOperations;
     }
 
     public double getExecutionTimeMs() {
@@ -106,17 +228,24 @@ public class Metrics {
     public String toString() {
         return "Metrics{graphId=" + graphId + ", vertices=" + vertices + ", edges=" + edges +
                 ", algorithm=" + algorithmName + ", totalCost=" + totalCost +
-                ", comparisons=" + comparisons + ", unions=" + unions +
-                ", pqOperations=" + pqOperations + ", totalOps=" + getTotalOperations() +
+                ", comparisons=" + getComparisons() + ", unions=" + getUnions() +
+                ", pqOperations=" + counter.getPQOperations() + ", totalOps=" + getTotalOperations() +
+                (getRounds() > 0 ? ", rounds=" + getRounds() + ", parallelWork=" + getParallelWork() : "") +
                 ", timeMs=" + String.format(Locale.US, "%.3f", executionTimeMs) + "}";
     }
 
+    /** Writes one row per run; when appending, the header is written only if the file is new or empty. */
     public static void writeCsv(String filePath, Metrics[] metricsArray, boolean append) throws IOException {
+        boolean header = !append || new File(filePath).length() == 0;
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, append))) {
-            if (!append) {
-                writer.write("graph_id,vertices,edges,algorithm,total_cost,operations_count,execution_time_ms\n");
+            if (header) {
+                writer.write("graph_id,vertices,edges,algorithm,total_cost,operations_count,execution_time_ms,"
+                        + "iterations,min_ms,median_ms,p90_ms,p99_ms,max_ms,stddev_ms,cached,"
+                        + "edge_density,variant,dense_threshold,weight_range,predicted_ms,components\n");
             }
             for (Metrics metrics : metricsArray) {
+                LatencyHistogram latency = metrics.getLatency();
+                double time = metrics.getExecutionTimeMs();
                 String[] row = {
                         String.valueOf(metrics.getGraphId()),
                         String.valueOf(metrics.getVertices()),
@@ -124,7 +253,22 @@ public class Metrics {
                         metrics.getAlgorithmName(),
                         String.valueOf(metrics.getTotalCost()),
                         String.valueOf(metrics.getTotalOperations()),
-                        String.format(Locale.US, "%.3f", metrics.getExecutionTimeMs())
+                        String.format(Locale.US, "%.3f", metrics.getExecutionTimeMs()),
+                        String.valueOf(latency == null ? 1 : latency.getCount()),
+                        ms(latency == null ? time : latency.getMin()),
+                        ms(latency == null ? time : latency.getMedian()),
+                        ms(latency == null ? time : latency.percentile(90)),
+                        ms(latency == null ? time : latency.percentile(99)),
+                        ms(latency == null ? time : latency.getMax()),
+                        ms(latency == null ? 0 : latency.getStdDev()),
+                        String.valueOf(metrics.isCached()),
+                        String.format(Locale.US, "%.4f", DensePrimMST.density(metrics.getVertices(), metrics.getEdges())),
+                        metrics.getVariant(),
+                        // The E / V² crossover the Prim variant was chosen against.
+                        metrics.getVariant().isEmpty() ? "" : String.valueOf(DensePrimMST.DENSITY_THRESHOLD),
+                        metrics.getWeightRange() < 0 ? "" : String.valueOf(metrics.getWeightRange()),
+                        Double.isNaN(metrics.getPredictedMs()) ? "" : ms(metrics.getPredictedMs()),
+                        metrics.getComponents() == null ? "" : String.valueOf(metrics.getComponents().size() + metrics.getSingletons())
                 };
                 writer.write(String.join(",", row) + "\n");
             }
@@ -133,4 +277,8 @@ public class Metrics {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    private static String ms(double value) {
+        return String.format(Locale.US, "%.3f", value);
+    }
+}
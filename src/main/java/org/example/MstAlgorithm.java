@@ -0,0 +1,47 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/** The MST algorithms {@link Main} can run, with their report and output.json names. */
+public enum MstAlgorithm {
+    PRIM("Prim", "prim"),
+    KRUSKAL("Kruskal", "kruskal"),
+    FILTER_KRUSKAL("FilterKruskal", "filter_kruskal"),
+    BORUVKA("Boruvka", "boruvka");
+
+    private final String displayName;
+    private final String jsonKey;
+
+    MstAlgorithm(String displayName, String jsonKey) {
+        this.displayName = displayName;
+        this.jsonKey = jsonKey;
+    }
+
+    public String getDisplayName() { return displayName; }
+    public String getJsonKey() { return jsonKey; }
+
+    /** Accepts the output key or display name in any case, with '-' and '_' interchangeable. */
+    public static MstAlgorithm fromName(String name) {
+        String key = name.trim().toLowerCase(Locale.ROOT).replace('-', '_');
+        for (MstAlgorithm algorithm : values()) {
+            if (algorithm.jsonKey.equals(key) || algorithm.displayName.toLowerCase(Locale.ROOT).equals(key)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unknown algorithm: " + name);
+    }
+
+    /** Parses a comma-separated list such as {@code prim,kruskal,boruvka}. */
+    public static List<MstAlgorithm> parseList(String names) {
+        List<MstAlgorithm> algorithms = new ArrayList<>();
+        for (String name : names.split(",")) {
+            if (name.trim().isEmpty()) continue;
+            MstAlgorithm algorithm = fromName(name);
+            if (!algorithms.contains(algorithm)) algorithms.add(algorithm);
+        }
+        if (algorithms.isEmpty()) throw new IllegalArgumentException("No algorithms selected");
+        return algorithms;
+    }
+}
@@ -0,0 +1,193 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache of MST results, so unchanged graphs are not recomputed across
+ * runs. Entries are keyed by a digest of (V, the edge multiset, algorithm) and kept in an
+ * in-memory LRU tier backed by one file per entry in a directory on disk.
+ * <p>
+ * The edge multiset is summarised without sorting: each edge {min(u,v), max(u,v), w} is
+ * hashed with two independent 64-bit mixers and the hashes are summed, which does not
+ * depend on edge order or direction. The sums, V, E and the algorithm go through SHA-256.
+ * A cached tree is a minimum spanning tree of the same edge multiset; when weights tie it
+ * may pick different edges than a fresh run over a reordered input would.
+ * Thread-safe.
+ */
+public class MstCache {
+    /** A cached MST with the figures of the run that computed it. */
+    public static class Entry {
+        public final int totalWeight;
+        public final ArrayList<Edge> edges;
+        public final double executionTimeMs;
+        public final long operations;
+
+        public Entry(int totalWeight, ArrayList<Edge> edges, double executionTimeMs, long operations) {
+            this.totalWeight = totalWeight;
+            this.edges = edges;
+            this.executionTimeMs = executionTimeMs;
+            this.operations = operations;
+        }
+    }
+
+    public static final String EXTENSION = ".mstc";
+
+    private static final int MAGIC = 0x4D535443; // "MSTC"
+    private static final int VERSION = 1;
+
+    private final Map<String, Entry> memory;
+    private final Path dir;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /** {@code dir} may be null for a memory-only cache. */
+    public MstCache(int memoryEntries, Path dir) {
+        if (memoryEntries < 1) throw new IllegalArgumentException("Memory tier needs at least one entry: " + memoryEntries);
+        this.memory = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MstCache.Entry> eldest) {
+                return size() > memoryEntries;
+            }
+        };
+        this.dir = dir;
+    }
+
+    /** Order-independent digest of the graph's vertex count and edge multiset, as a hex string. */
+    public static String graphDigest(Graph graph) {
+        long sum1 = 0, sum2 = 0;
+        for (int i = 0; i < graph.getEdgeCount(); i++) {
+            int a = graph.edgeU(i), b = graph.edgeV(i);
+            long pair = a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+            long w = graph.edgeWeight(i);
+            sum1 += mix(pair ^ mix(w));
+            sum2 += mix(mix(pair + 0x632BE59BD9B4E019L) ^ (w * 0x9E3779B97F4A7C15L));
+        }
+        return String.format("%08x%08x%016x%016x", graph.getVertices(), graph.getEdgeCount(), sum1, sum2);
+    }
+
+    /** Cache key of {@code algorithm}'s result on the graph with the given digest. */
+    public static String key(String graphDigest, MstAlgorithm algorithm) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(graphDigest.getBytes(StandardCharsets.US_ASCII));
+            sha.update((byte) 0);
+            sha.update(algorithm.getJsonKey().getBytes(StandardCharsets.US_ASCII));
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : sha.digest()) hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /** Returns the cached entry, or null; counts a hit or a miss. */
+    public Entry get(String key) {
+        Entry entry;
+        synchronized (memory) {
+            entry = memory.get(key);
+        }
+        if (entry == null && dir != null) {
+            entry = readFile(dir.resolve(key + EXTENSION));
+            if (entry != null) {
+                synchronized (memory) {
+                    memory.put(key, entry);
+                }
+            }
+        }
+        (entry == null ? misses : hits).incrementAndGet();
+        return entry;
+    }
+
+    public void put(String key, Entry entry) {
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        if (dir != null) writeFile(dir.resolve(key + EXTENSION), entry);
+    }
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+
+    private static Entry readFile(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                System.err.println("[MstCache] Ignoring unreadable entry " + file);
+                return null;
+            }
+            int totalWeight = in.readInt();
+            double timeMs = in.readDouble();
+            long operations = in.readLong();
+            int count = in.readInt();
+            ArrayList<Edge> edges = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                edges.add(new Edge(in.readInt(), in.readInt(), in.readInt()));
+            }
+            return new Entry(totalWeight, edges, timeMs, operations);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            System.err.println("[MstCache] Ignoring unreadable entry " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes to a temporary file first so concurrent readers never see a partial entry.
+     * A failed write is logged and skipped, like an unreadable entry in {@link #readFile}:
+     * the result stays in the memory tier and the batch goes on.
+     */
+    private static void writeFile(Path file, Entry entry) {
+        Path tmp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            tmp = Files.createTempFile(file.getParent(), "entry", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entry.totalWeight);
+                out.writeDouble(entry.executionTimeMs);
+                out.writeLong(entry.operations);
+                out.writeInt(entry.edges.size());
+                for (Edge e : entry.edges) {
+                    out.writeInt(e.u);
+                    out.writeInt(e.v);
+                    out.writeInt(e.weight);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+        } catch (IOException e) {
+            System.err.println("[MstCache] Could not write entry " + file + ": " + e.getMessage());
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException e) {
+                    System.err.println("[MstCache] Could not delete " + tmp + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** SplitMix64 finalizer. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,54 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Picks a single algorithm for each MST query: the candidate a {@link CostModel}
+ * predicts to be fastest for the graph. {@link BatchRunner#setSolver} runs only that
+ * one and records the prediction in the run's {@link Metrics}, so results.csv shows it
+ * beside the measured time and later runs can refit the model.
+ */
+public class MstSolver {
+    public static final class Choice {
+        public final MstAlgorithm algorithm;
+        public final double predictedMs;
+        public final long weightRange;
+
+        Choice(MstAlgorithm algorithm, double predictedMs, long weightRange) {
+            this.algorithm = algorithm;
+            this.predictedMs = predictedMs;
+            this.weightRange = weightRange;
+        }
+    }
+
+    private final CostModel model;
+    private final List<MstAlgorithm> candidates;
+
+    public MstSolver(CostModel model, List<MstAlgorithm> candidates) {
+        if (candidates.isEmpty()) throw new IllegalArgumentException("No candidate algorithms");
+        this.model = model;
+        this.candidates = new ArrayList<>(candidates);
+    }
+
+    /** The candidate with the lowest predicted time; ties go to the earlier candidate. */
+    public Choice choose(Graph graph) {
+        long weightRange = CostModel.weightRange(graph);
+        MstAlgorithm best = null;
+        double bestMs = Double.POSITIVE_INFINITY;
+        for (MstAlgorithm algorithm : candidates) {
+            double ms = model.predictMs(algorithm, graph.getVertices(), graph.getEdgeCount(), weightRange);
+            if (ms < bestMs) {
+                best = algorithm;
+                bestMs = ms;
+            }
+        }
+        return new Choice(best, bestMs, weightRange);
+    }
+
+    /** Records {@code choice}'s prediction in the metrics of the run it chose. */
+    static void record(Metrics metrics, Choice choice) {
+        metrics.setWeightRange(choice.weightRange);
+        metrics.setPredictedMs(choice.predictedMs);
+    }
+}
@@ -0,0 +1,121 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Builds a {@link Graph} whose edge list and CSR adjacency live in direct buffers outside
+ * the Java heap. Edges are appended one at a time into pre-sized buffers and the adjacency
+ * is built in place, so the heap holds only a few objects however large the graph is.
+ * The algorithms read the result through the usual {@link Graph} accessors.
+ * <p>
+ * Each array is a single direct buffer, which caps a buffer at 2 GB: the 2E-entry adjacency
+ * arrays limit a graph to {@link #MAX_EDGES} edges, as for {@link BinaryGraphFormat}.
+ * Direct memory is bounded by {@code -XX:MaxDirectMemorySize}, which defaults to the heap
+ * size, so raise it when shrinking {@code -Xmx}.
+ */
+public class OffHeapGraphBuilder {
+    /** Largest edge count whose 2E adjacency entries fit in one direct buffer. */
+    public static final int MAX_EDGES = Integer.MAX_VALUE / Integer.BYTES / 2;
+
+    private final int id;
+    private final int vertices;
+    private final IntBuffer edgeU;
+    private final IntBuffer edgeV;
+    private final IntBuffer edgeWeight;
+    private int size;
+
+    public OffHeapGraphBuilder(int id, int vertices, int edgeCapacity) {
+        if (vertices < 0) throw new IllegalArgumentException("Negative vertex count: " + vertices);
+        if (edgeCapacity < 0 || edgeCapacity > MAX_EDGES) {
+            throw new IllegalArgumentException("Edge capacity must be in [0, " + MAX_EDGES + "]: " + edgeCapacity);
+        }
+        this.id = id;
+        this.vertices = vertices;
+        this.edgeU = allocate(edgeCapacity);
+        this.edgeV = allocate(edgeCapacity);
+        this.edgeWeight = allocate(edgeCapacity);
+    }
+
+    public OffHeapGraphBuilder addEdge(int u, int v, int weight) {
+        if (size == edgeU.capacity()) throw new IllegalStateException("Edge capacity " + size + " exceeded");
+        if (u < 0 || u >= vertices || v < 0 || v >= vertices) {
+            throw new IllegalArgumentException("Edge (" + u + ", " + v + ") outside [0, " + vertices + ")");
+        }
+        edgeU.put(size, u);
+        edgeV.put(size, v);
+        edgeWeight.put(size, weight);
+        size++;
+        return this;
+    }
+
+    public int size() { return size; }
+
+    /**
+     * Builds the adjacency and returns the graph. The adjacency lists match those of the
+     * array-backed {@link Graph} constructor entry for entry, so every algorithm breaks
+     * ties the same way on both.
+     */
+    public Graph build() {
+        return build(id, vertices, edgeU, edgeV, edgeWeight, size);
+    }
+
+    /** Builds a graph over the first {@code m} edges of the given direct edge buffers, taking them over. */
+    static Graph build(int id, int vertices, IntBuffer edgeU, IntBuffer edgeV, IntBuffer edgeWeight, int m) {
+        IntBuffer u = prefix(edgeU, m), v = prefix(edgeV, m), w = prefix(edgeWeight, m);
+        IntBuffer offsets = allocate(vertices + 1);
+        IntBuffer targets = allocate(2 * m);
+        IntBuffer weights = allocate(2 * m);
+
+        // offsets[x] first counts the degree of x, then holds the end of its list. Filling the
+        // lists backwards from the end leaves it at the start, without a separate cursor array.
+        for (int e = 0; e < m; e++) {
+            offsets.put(u.get(e), offsets.get(u.get(e)) + 1);
+            offsets.put(v.get(e), offsets.get(v.get(e)) + 1);
+        }
+        for (int x = 1; x < vertices; x++) {
+            offsets.put(x, offsets.get(x) + offsets.get(x - 1));
+        }
+        offsets.put(vertices, 2 * m);
+        for (int e = m - 1; e >= 0; e--) {
+            int a = u.get(e), b = v.get(e), weight = w.get(e);
+            int j = offsets.get(b) - 1;
+            offsets.put(b, j);
+            targets.put(j, a);
+            weights.put(j, weight);
+            int i = offsets.get(a) - 1;
+            offsets.put(a, i);
+            targets.put(i, b);
+            weights.put(i, weight);
+        }
+        return new Graph(id, vertices, u, v, w, offsets, targets, weights);
+    }
+
+    /** Copies {@code graph}, edges and adjacency, into direct buffers. */
+    public static Graph copyOf(Graph graph) {
+        IntBuffer[] storage = graph.storage();
+        IntBuffer[] copy = new IntBuffer[storage.length];
+        for (int s = 0; s < storage.length; s++) {
+            copy[s] = allocate(storage[s].limit());
+            copy[s].put(storage[s]).clear();
+        }
+        return new Graph(graph.getId(), graph.getVertices(), copy[0], copy[1], copy[2], copy[3], copy[4], copy[5]);
+    }
+
+    /** Direct memory taken by a graph of this size: 3E edge entries, V + 1 offsets and 4E adjacency entries. */
+    public static long bytesFor(int vertices, long edges) {
+        return Integer.BYTES * (7 * edges + vertices + 1);
+    }
+
+    static IntBuffer allocate(int ints) {
+        if (ints > Integer.MAX_VALUE / Integer.BYTES) throw new IllegalArgumentException("Too large for one direct buffer: " + ints + " ints");
+        return ByteBuffer.allocateDirect(ints * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    private static IntBuffer prefix(IntBuffer buffer, int length) {
+        IntBuffer view = buffer.duplicate();
+        view.limit(length);
+        return view.slice();
+    }
+}
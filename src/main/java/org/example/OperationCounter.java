@@ -0,0 +1,133 @@
+package org.example;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The operation counters behind {@link Metrics}. Algorithms report every comparison,
+ * union and priority-queue operation from their inner loops, so the implementation is
+ * chosen per run:
+ * <ul>
+ *   <li>{@link #counting()}: plain {@code long} fields, for single-threaded runs (the default)</li>
+ *   <li>{@link #disabled()}: empty methods the JIT inlines away, for timing-only runs</li>
+ *   <li>{@link #striped()}: {@link LongAdder}s, for counters shared between worker threads</li>
+ * </ul>
+ */
+public interface OperationCounter {
+    void incrementComparison();
+    void incrementUnion();
+    void incrementPQOperation();
+    void addComparisons(long count);
+    void addUnions(long count);
+    void addPQOperations(long count);
+    void incrementRound();
+    void addParallelWork(long count);
+
+    long getComparisons();
+    long getUnions();
+    long getPQOperations();
+    long getRounds();
+    long getParallelWork();
+
+    /** False when the counts are not being recorded and read as zero. */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    static OperationCounter counting() {
+        return new Counting();
+    }
+
+    static OperationCounter disabled() {
+        return Disabled.INSTANCE;
+    }
+
+    static OperationCounter striped() {
+        return new Striped();
+    }
+
+    /** Factory for the {@code --metrics} option: {@code count}, {@code off} or {@code striped}. */
+    static Supplier<OperationCounter> forMode(String mode) {
+        switch (mode) {
+            case "count":
+                return OperationCounter::counting;
+            case "off":
+                return OperationCounter::disabled;
+            case "striped":
+                return OperationCounter::striped;
+            default:
+                throw new IllegalArgumentException("Unknown metrics mode: " + mode + " (expected count, off or striped)");
+        }
+    }
+
+    /** Not thread-safe; one instance per algorithm run. */
+    final class Counting implements OperationCounter {
+        private long comparisons;
+        private long unions;
+        private long pqOperations;
+        private long rounds;
+        private long parallelWork;
+
+        @Override public void incrementComparison() { comparisons++; }
+        @Override public void incrementUnion() { unions++; }
+        @Override public void incrementPQOperation() { pqOperations++; }
+        @Override public void addComparisons(long count) { comparisons += count; }
+        @Override public void addUnions(long count) { unions += count; }
+        @Override public void addPQOperations(long count) { pqOperations += count; }
+        @Override public void incrementRound() { rounds++; }
+        @Override public void addParallelWork(long count) { parallelWork += count; }
+
+        @Override public long getComparisons() { return comparisons; }
+        @Override public long getUnions() { return unions; }
+        @Override public long getPQOperations() { return pqOperations; }
+        @Override public long getRounds() { return rounds; }
+        @Override public long getParallelWork() { return parallelWork; }
+    }
+
+    /** Stateless, so a single shared instance serves every run. */
+    final class Disabled implements OperationCounter {
+        static final Disabled INSTANCE = new Disabled();
+
+        private Disabled() {}
+
+        @Override public void incrementComparison() {}
+        @Override public void incrementUnion() {}
+        @Override public void incrementPQOperation() {}
+        @Override public void addComparisons(long count) {}
+        @Override public void addUnions(long count) {}
+        @Override public void addPQOperations(long count) {}
+        @Override public void incrementRound() {}
+        @Override public void addParallelWork(long count) {}
+
+        @Override public long getComparisons() { return 0; }
+        @Override public long getUnions() { return 0; }
+        @Override public long getPQOperations() { return 0; }
+        @Override public long getRounds() { return 0; }
+        @Override public long getParallelWork() { return 0; }
+        @Override public boolean isEnabled() { return false; }
+    }
+
+    /** Thread-safe; contended updates spread over {@link LongAdder} cells instead of one cache line. */
+    final class Striped implements OperationCounter {
+        private final LongAdder comparisons = new LongAdder();
+        private final LongAdder unions = new LongAdder();
+        private final LongAdder pqOperations = new LongAdder();
+        private final LongAdder rounds = new LongAdder();
+        private final LongAdder parallelWork = new LongAdder();
+
+        @Override public void incrementComparison() { comparisons.increment(); }
+        @Override public void incrementUnion() { unions.increment(); }
+        @Override public void incrementPQOperation() { pqOperations.increment(); }
+        @Override public void addComparisons(long count) { comparisons.add(count); }
+        @Override public void addUnions(long count) { unions.add(count); }
+        @Override public void addPQOperations(long count) { pqOperations.add(count); }
+        @Override public void incrementRound() { rounds.increment(); }
+        @Override public void addParallelWork(long count) { parallelWork.add(count); }
+
+        @Override public long getComparisons() { return comparisons.sum(); }
+        @Override public long getUnions() { return unions.sum(); }
+        @Override public long getPQOperations() { return pqOperations.sum(); }
+        @Override public long getRounds() { return rounds.sum(); }
+        @Override public long getParallelWork() { return parallelWork.sum(); }
+    }
+}
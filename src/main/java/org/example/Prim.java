@@ -1,20 +1,48 @@
 package org.example;
 
+import java.util.ArrayList;
+
 public class Prim {
+    /** {@link Metrics#getVariant()} of runs that used {@link DensePrimMST} or the heap-based {@link PrimMST}. */
+    static final String DENSE = "dense", HEAP = "heap";
+
     public static class Result {
         public int totalWeight;
         public int[] parent;
+        /** Weight of the edge (parent[v], v), or -1 where parent[v] is -1. */
+        public int[] parentWeight;
         public Metrics metrics;
 
-        Result(int totalWeight, int[] parent, Metrics metrics) {
+        Result(int totalWeight, int[] parent, int[] parentWeight, Metrics metrics) {
             this.totalWeight = totalWeight;
-            this.parent = parent.clone();
+            this.parent = parent;
+            this.parentWeight = parentWeight;
             this.metrics = metrics;
         }
+
+        public ArrayList<Edge> getMstEdges() {
+            return PrimMST.edgeList(parent, parentWeight);
+        }
     }
 
+    /** Runs {@link DensePrimMST} or the heap-based {@link PrimMST}, whichever suits the graph's density. */
     public static Result findMST(Graph graph, Metrics metrics) {
-        PrimMST.Result r = PrimMST.findMST(graph, metrics);
-        return new Result(r.totalWeight, r.parent, r.metrics);
+        boolean dense = DensePrimMST.prefers(graph.getVertices(), graph.getEdgeCount());
+        metrics.setVariant(variant(dense));
+        PrimMST.Result r = dense ? DensePrimMST.findMST(graph, metrics) : PrimMST.findMST(graph, metrics);
+        return new Result(r.totalWeight, r.parent, r.parentWeight, r.metrics);
+    }
+
+    /** The variant {@link #findMST} picks for {@code graph}: {@code dense} or {@code heap}. */
+    public static String variant(Graph graph) {
+        return variant(graph.getVertices(), graph.getEdgeCount());
+    }
+
+    public static String variant(int vertices, long edges) {
+        return variant(DensePrimMST.prefers(vertices, edges));
+    }
+
+    private static String variant(boolean dense) {
+        return dense ? DENSE : HEAP;
     }
 }
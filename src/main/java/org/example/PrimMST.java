@@ -1,49 +1,68 @@
 package org.example;
 
+import java.util.ArrayList;
+
 public class PrimMST {
+    /** Arity of the indexed heap used by {@link #findMST(Graph, Metrics)}. */
+    public static final int DEFAULT_HEAP_ARITY = 4;
+
     public static class Result {
         public int totalWeight;
         public int[] parent;
+        /** Weight of the edge (parent[v], v), or -1 where parent[v] is -1. */
+        public int[] parentWeight;
         public Metrics metrics;
 
-        Result(int totalWeight, int[] parent, Metrics metrics) {
+        Result(int totalWeight, int[] parent, int[] parentWeight, Metrics metrics) {
             this.totalWeight = totalWeight;
-            this.parent = parent.clone();
+            this.parent = parent;
+            this.parentWeight = parentWeight;
             this.metrics = metrics;
         }
+
+        public ArrayList<Edge> getMstEdges() {
+            return edgeList(parent, parentWeight);
+        }
     }
 
     public static Result findMST(Graph graph, Metrics metrics) {
+        return findMST(graph, metrics, DEFAULT_HEAP_ARITY);
+    }
+
+    public static Result findMST(Graph graph, Metrics metrics, int heapArity) {
         metrics.startTimer();
         int vertices = graph.getVertices();
         boolean[] visited = new boolean[vertices];
         int[] minWeight = new int[vertices];
         int[] parent = new int[vertices];
-        java.util.PriorityQueue<Edge> pq = new java.util.PriorityQueue<>();
+        IndexedMinHeap pq = new IndexedMinHeap(vertices, heapArity);
 
         java.util.Arrays.fill(minWeight, Integer.MAX_VALUE);
         java.util.Arrays.fill(parent, -1);
         minWeight[0] = 0;
-        pq.offer(new Edge(-1, 0, 0)); // Start from vertex 0
+        pq.insert(0, 0); // Start from vertex 0
 
         int totalWeight = 0;
         while (!pq.isEmpty()) {
-            Edge edge = pq.poll();
+            int u = pq.pollMin();
             metrics.incrementPQOperation();
-            int u = edge.v;
 
-            if (visited[u]) continue;
             visited[u] = true;
-            totalWeight += edge.weight;
+            totalWeight += minWeight[u];
 
-            for (Edge e : graph.getEdges()) {
-                int v = (e.u == u) ? e.v : (e.v == u) ? e.u : -1;
-                if (v != -1 && !visited[v]) {
+            for (int i = graph.adjacencyStart(u), end = graph.adjacencyEnd(u); i < end; i++) {
+                int v = graph.adjacentVertex(i);
+                if (!visited[v]) {
                     metrics.incrementComparison();
-                    if (e.weight < minWeight[v]) {
-                        minWeight[v] = e.weight;
+                    int w = graph.adjacentWeight(i);
+                    if (w < minWeight[v]) {
+                        minWeight[v] = w;
                         parent[v] = u;
-                        pq.offer(new Edge(u, v, e.weight));
+                        if (pq.contains(v)) {
+                            pq.decreaseKey(v, w);
+                        } else {
+                            pq.insert(v, w);
+                        }
                         metrics.incrementPQOperation();
                     }
                 }
@@ -52,6 +71,21 @@ public class PrimMST {
 
         metrics.stopTimer();
         metrics.setTotalCost(totalWeight);
-        return new Result(totalWeight, parent, metrics);
+        // minWeight[v] is now the weight of the edge that attached v; reuse it as parentWeight.
+        for (int v = 0; v < vertices; v++) {
+            if (parent[v] == -1) minWeight[v] = -1;
+        }
+        return new Result(totalWeight, parent, minWeight, metrics);
+    }
+
+    /** The tree edges (parent[v], v) in vertex order; O(V). */
+    static ArrayList<Edge> edgeList(int[] parent, int[] parentWeight) {
+        ArrayList<Edge> edges = new ArrayList<>();
+        for (int v = 0; v < parent.length; v++) {
+            if (parent[v] != -1) {
+                edges.add(new Edge(parent[v], v, parentWeight[v]));
+            }
+        }
+        return edges;
     }
-}
\ No newline at end of file
+}
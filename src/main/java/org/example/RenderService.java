@@ -0,0 +1,148 @@
+package org.example;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders graph images with {@link GraphVisualizer} on its own worker threads, so PNG
+ * drawing and encoding never hold up the MST computations. Pending jobs wait in a
+ * bounded queue, which also bounds how many graphs are kept alive just for rendering;
+ * the {@link Policy} decides what happens when it is full. {@link #finish()} (or
+ * {@link #close()}) waits for the queued jobs to finish.
+ */
+public class RenderService implements AutoCloseable {
+    /** What {@link #submit} does when the queue is full. */
+    public enum Policy {
+        /** Wait for a free slot: every image is rendered, but the caller can stall. */
+        BLOCK,
+        /** Drop the new job. */
+        SKIP,
+        /** Drop the oldest queued job to make room for the new one. */
+        DROP_OLDEST;
+
+        public static Policy fromName(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown render policy: " + name + " (expected block, skip or drop_oldest)");
+            }
+        }
+    }
+
+    private static final class Job implements Runnable {
+        final Graph graph;
+        final List<Edge> mstEdges;
+        final String outputPath;
+
+        Job(Graph graph, List<Edge> mstEdges, String outputPath) {
+            this.graph = graph;
+            this.mstEdges = mstEdges;
+            this.outputPath = outputPath;
+        }
+
+        @Override
+        public void run() {
+            GraphVisualizer.visualize(graph, mstEdges, outputPath);
+        }
+    }
+
+    private final ThreadPoolExecutor pool;
+    private final Policy policy;
+    private final AtomicInteger submitted = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+
+    public RenderService(int workers, int queueCapacity, Policy policy) {
+        if (workers < 1) throw new IllegalArgumentException("Render workers must be positive: " + workers);
+        if (queueCapacity < 1) throw new IllegalArgumentException("Render queue capacity must be positive: " + queueCapacity);
+        this.policy = policy;
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "mst-render-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.NORM_PRIORITY - 1);
+                    return t;
+                }, rejectionHandler(policy));
+    }
+
+    /** Queues a rendering of {@code graph} without a known tree; see {@link #submit(Graph, List, String)}. */
+    public boolean submit(Graph graph, String outputPath) {
+        return submit(graph, null, outputPath);
+    }
+
+    /**
+     * Queues a rendering of {@code graph} with {@code mstEdges} overlaid ({@code null} lets
+     * {@link GraphVisualizer} compute a tree); returns false if the job was dropped.
+     */
+    public boolean submit(Graph graph, List<Edge> mstEdges, String outputPath) {
+        submitted.incrementAndGet();
+        try {
+            pool.execute(new Job(graph, mstEdges, outputPath));
+            return true;
+        } catch (RejectedExecutionException e) {
+            dropped.incrementAndGet();
+            System.err.println("[RenderService] Skipped " + outputPath + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    public int getSubmitted() { return submitted.get(); }
+    public int getDropped() { return dropped.get(); }
+    public Policy getPolicy() { return policy; }
+
+    /** Same as {@link #finish()}. */
+    @Override
+    public void close() {
+        finish();
+    }
+
+    /**
+     * Stops accepting jobs and waits for the queued ones to finish. If the caller is
+     * interrupted, it stops waiting and keeps its interrupt flag set. Calling it again is harmless.
+     */
+    public void finish() {
+        pool.shutdown();
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                System.err.println("[RenderService] Still waiting for " + (pool.getQueue().size() + pool.getActiveCount()) + " renderings");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("[RenderService] Interrupted with " + (pool.getQueue().size() + pool.getActiveCount()) + " renderings left");
+        }
+    }
+
+    private RejectedExecutionHandler rejectionHandler(Policy policy) {
+        return (job, executor) -> {
+            if (executor.isShutdown()) throw new RejectedExecutionException("Render service is closed");
+            BlockingQueue<Runnable> queue = executor.getQueue();
+            switch (policy) {
+                case BLOCK:
+                    try {
+                        queue.put(job);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("Interrupted while waiting for the render queue", e);
+                    }
+                    break;
+                case SKIP:
+                    throw new RejectedExecutionException("render queue full");
+                case DROP_OLDEST:
+                    Runnable oldest = queue.poll();
+                    if (oldest != null) {
+                        dropped.incrementAndGet();
+                        System.err.println("[RenderService] Queue full, dropped " + ((Job) oldest).outputPath);
+                    }
+                    executor.execute(job);
+                    break;
+            }
+        };
+    }
+}
@@ -8,51 +8,53 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ReportPlotter {
+    private static final Color[] TIME_COLORS = {
+            new Color(0x2E,0x7D,0x32), new Color(0xC6,0x28,0x28), new Color(0x6A,0x1B,0x9A),
+            new Color(0x00,0x83,0x8F), new Color(0x5D,0x40,0x37)
+    };
+    private static final Color[] OPS_COLORS = {
+            new Color(0x15,0x65,0xC0), new Color(0xFB,0x8C,0x00), new Color(0xAD,0x14,0x57),
+            new Color(0x55,0x8B,0x2F), new Color(0x45,0x5A,0x64)
+    };
+
     public static void generatePlots(Metrics[] metricsArray, String outDir) {
-        List<Metrics> prim = new ArrayList<>();
-        List<Metrics> kruskal = new ArrayList<>();
+        Map<String, List<Metrics>> byAlgorithm = new LinkedHashMap<>();
         for (Metrics m : metricsArray) {
-            if (m == null) continue;
-            String a = m.getAlgorithmName();
-            if (a != null) {
-                String al = a.toLowerCase();
-                if (al.contains("prim")) {
-                    prim.add(m);
-                } else if (al.contains("kruskal")) {
-                    kruskal.add(m);
-                }
-            }
+            if (m == null || m.getAlgorithmName() == null) continue;
+            byAlgorithm.computeIfAbsent(m.getAlgorithmName(), k -> new ArrayList<>()).add(m);
         }
         Comparator<Metrics> byVThenId = Comparator.comparingInt(Metrics::getVertices).thenComparingInt(Metrics::getGraphId);
-        prim.sort(byVThenId);
-        kruskal.sort(byVThenId);
+        for (List<Metrics> list : byAlgorithm.values()) {
+            list.sort(byVThenId);
+        }
 
         File dir = new File(outDir);
         if (!dir.exists()) dir.mkdirs();
 
-        double[][] primTime = toXY(prim, true);
-        double[][] krTime = toXY(kruskal, true);
-        double[][] primOps = toXY(prim, false);
-        double[][] krOps = toXY(kruskal, false);
-
-        drawLineChart(Arrays.asList(
-                new Series("Prim", primTime, new Color(0x2E,0x7D,0x32)),
-                new Series("Kruskal", krTime, new Color(0xC6,0x28,0x28))
-        ), "Vertices", "Execution Time (ms)", 1800, 1000, new File(dir, "time_compare.png"));
-
-        drawLineChart(Arrays.asList(new Series("Prim", primTime, new Color(0x2E,0x7D,0x32))),
-                "Vertices", "Execution Time (ms)", 1600, 900, new File(dir, "time_prim.png"));
+        List<Series> timeSeries = new ArrayList<>();
+        List<Series> opsSeries = new ArrayList<>();
+        int k = 0;
+        for (Map.Entry<String, List<Metrics>> entry : byAlgorithm.entrySet()) {
+            String name = entry.getKey();
+            Color timeColor = TIME_COLORS[k % TIME_COLORS.length];
+            Color opsColor = OPS_COLORS[k % OPS_COLORS.length];
+            k++;
+            Series time = new Series(name, toXY(entry.getValue(), true), timeColor);
+            timeSeries.add(time);
+            opsSeries.add(new Series(name + " ops", toXY(entry.getValue(), false), opsColor));
+
+            drawLineChart(Arrays.asList(time),
+                    "Vertices", "Execution Time (ms)", 1600, 900, new File(dir, "time_" + name.toLowerCase() + ".png"));
+        }
 
-        drawLineChart(Arrays.asList(new Series("Kruskal", krTime, new Color(0xC6,0x28,0x28))),
-                "Vertices", "Execution Time (ms)", 1600, 900, new File(dir, "time_kruskal.png"));
+        drawLineChart(timeSeries, "Vertices", "Execution Time (ms)", 1800, 1000, new File(dir, "time_compare.png"));
 
-        drawLineChart(Arrays.asList(
-                new Series("Prim ops", primOps, new Color(0x15,0x65,0xC0)),
-                new Series("Kruskal ops", krOps, new Color(0xFB,0x8C,0x00))
-        ), "Vertices", "Operations (comparisons+unions+pq)", 1800, 1000, new File(dir, "ops_compare.png"));
+        drawLineChart(opsSeries, "Vertices", "Operations (comparisons+unions+pq)", 1800, 1000, new File(dir, "ops_compare.png"));
     }
 
     private static double[][] toXY(List<Metrics> list, boolean time) {
@@ -153,7 +155,7 @@ public class ReportPlotter {
             g.fillRect(legendX, legendY - 12, 16, 10);
             g.setColor(Color.DARK_GRAY);
             g.drawString(s.name, legendX + 24, legendY - 2);
-            legendX += 160;
+            legendX += Math.max(160, g.getFontMetrics().stringWidth(s.name) + 48);
         }
 
         g.dispose();
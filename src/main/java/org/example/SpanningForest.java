@@ -0,0 +1,233 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+
+/**
+ * Minimum spanning forest of a possibly disconnected graph. One BFS over the CSR
+ * adjacency labels the connected components. Each component is then solved on its
+ * own: singletons need no work, and components that are already trees (E = V - 1)
+ * keep all their edges. The rest become relabelled subgraphs, which run in parallel
+ * on a {@link ForkJoinPool}, largest first. Any MST algorithm can solve a component,
+ * because each one is connected.
+ */
+public class SpanningForest {
+    public static class Component {
+        /** Components are numbered in order of their smallest vertex. */
+        public final int id;
+        public final int vertices;
+        /** Input edges inside the component, self-loops excluded. */
+        public final int edges;
+        public final int totalWeight;
+
+        Component(int id, int vertices, int edges, int totalWeight) {
+            this.id = id;
+            this.vertices = vertices;
+            this.edges = edges;
+            this.totalWeight = totalWeight;
+        }
+    }
+
+    public static class Result {
+        public int totalWeight;
+        public ArrayList<Edge> forestEdges;
+        /** Component id of every vertex. */
+        public int[] componentOf;
+        /** The components with at least two vertices; singletons are only counted. */
+        public List<Component> components;
+        public int singletons;
+        public Metrics metrics;
+
+        Result(int totalWeight, ArrayList<Edge> forestEdges, int[] componentOf, List<Component> components,
+               int singletons, Metrics metrics) {
+            this.totalWeight = totalWeight;
+            this.forestEdges = forestEdges;
+            this.componentOf = componentOf;
+            this.components = components;
+            this.singletons = singletons;
+            this.metrics = metrics;
+        }
+
+        public int getComponentCount() {
+            return components.size() + singletons;
+        }
+    }
+
+    public static Result findForest(Graph graph, Metrics metrics, BiFunction<Graph, Metrics, MstCache.Entry> solver) {
+        return findForest(graph, metrics, solver, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Solves every component with {@code solver}, which receives a connected subgraph and a
+     * fresh {@link Metrics}; their operation counts are added to {@code metrics}.
+     */
+    public static Result findForest(Graph graph, Metrics metrics, BiFunction<Graph, Metrics, MstCache.Entry> solver,
+                                    ForkJoinPool pool) {
+        metrics.startTimer();
+        int V = graph.getVertices();
+        int[] componentOf = new int[V];
+        // Vertices grouped by component in BFS order; localId[v] is v's index within its component.
+        int[] order = new int[V];
+        int[] localId = new int[V];
+        int[] componentStart = new int[V + 1];
+        int components = label(graph, componentOf, order, localId, componentStart);
+
+        // Bucket the edges by component, dropping self-loops.
+        int[] edgeStart = new int[components + 1];
+        int m = graph.getEdgeCount();
+        for (int i = 0; i < m; i++) {
+            if (graph.edgeU(i) != graph.edgeV(i)) edgeStart[componentOf[graph.edgeU(i)] + 1]++;
+        }
+        for (int c = 0; c < components; c++) edgeStart[c + 1] += edgeStart[c];
+        int[] edgesByComponent = new int[edgeStart[components]];
+        int[] fill = Arrays.copyOf(edgeStart, components);
+        for (int i = 0; i < m; i++) {
+            if (graph.edgeU(i) != graph.edgeV(i)) edgesByComponent[fill[componentOf[graph.edgeU(i)]]++] = i;
+        }
+
+        MstCache.Entry[] solved = new MstCache.Entry[components];
+        List<Integer> pending = new ArrayList<>();
+        int singletons = 0;
+        for (int c = 0; c < components; c++) {
+            int size = componentStart[c + 1] - componentStart[c];
+            int edgeCount = edgeStart[c + 1] - edgeStart[c];
+            if (size == 1) {
+                singletons++;
+            } else if (edgeCount == size - 1) {
+                solved[c] = treeOf(graph, edgesByComponent, edgeStart[c], edgeStart[c + 1]);
+            } else {
+                pending.add(c);
+            }
+        }
+        pending.sort((a, b) -> Integer.compare(edgeStart[b + 1] - edgeStart[b], edgeStart[a + 1] - edgeStart[a]));
+
+        Metrics[] componentMetrics = new Metrics[pending.size()];
+        boolean counting = metrics.getCounter().isEnabled();
+        ForkJoinChunks.forEach(pool, pending.size(), k -> {
+            int c = pending.get(k);
+            Graph sub = subgraph(graph, c, order, localId, componentStart, edgesByComponent, edgeStart);
+            componentMetrics[k] = new Metrics(graph.getId(), sub.getVertices(), sub.getEdgeCount(), metrics.getAlgorithmName(),
+                    counting ? OperationCounter.counting() : OperationCounter.disabled());
+            MstCache.Entry local = solver.apply(sub, componentMetrics[k]);
+            ArrayList<Edge> global = new ArrayList<>(local.edges.size());
+            int base = componentStart[c];
+            for (Edge e : local.edges) global.add(new Edge(order[base + e.u], order[base + e.v], e.weight));
+            solved[c] = new MstCache.Entry(local.totalWeight, global, 0, 0);
+        });
+        for (Metrics cm : componentMetrics) {
+            metrics.addComparisons(cm.getComparisons());
+            metrics.addUnions(cm.getUnions());
+            metrics.addPQOperations(cm.getCounter().getPQOperations());
+        }
+
+        int totalWeight = 0;
+        ArrayList<Edge> forestEdges = new ArrayList<>(V - components);
+        List<Component> summary = new ArrayList<>(components - singletons);
+        for (int c = 0; c < components; c++) {
+            if (solved[c] == null) continue;
+            totalWeight += solved[c].totalWeight;
+            forestEdges.addAll(solved[c].edges);
+            summary.add(new Component(c, componentStart[c + 1] - componentStart[c], edgeStart[c + 1] - edgeStart[c],
+                    solved[c].totalWeight));
+        }
+        metrics.stopTimer();
+        metrics.setTotalCost(totalWeight);
+        return new Result(totalWeight, forestEdges, componentOf, Collections.unmodifiableList(summary), singletons, metrics);
+    }
+
+    /**
+     * Per-component totals of an already computed forest, e.g. one read back from
+     * {@link MstCache}. Components are numbered as in {@link #findForest}.
+     */
+    public static Result summarize(Graph graph, List<Edge> forestEdges) {
+        int vertices = graph.getVertices();
+        DisjointSet sets = new DisjointSet(vertices);
+        for (Edge e : forestEdges) sets.union(e.u, e.v);
+        int[] componentOf = new int[vertices];
+        int[] idOfRoot = new int[vertices];
+        Arrays.fill(idOfRoot, -1);
+        int components = 0;
+        for (int v = 0; v < vertices; v++) {
+            int root = sets.find(v);
+            if (idOfRoot[root] < 0) idOfRoot[root] = components++;
+            componentOf[v] = idOfRoot[root];
+        }
+        int[] size = new int[components];
+        int[] edges = new int[components];
+        int[] weight = new int[components];
+        for (int v = 0; v < vertices; v++) size[componentOf[v]]++;
+        int totalWeight = 0;
+        for (int i = 0, m = graph.getEdgeCount(); i < m; i++) {
+            if (graph.edgeU(i) != graph.edgeV(i)) edges[componentOf[graph.edgeU(i)]]++;
+        }
+        for (Edge e : forestEdges) {
+            weight[componentOf[e.u]] += e.weight;
+            totalWeight += e.weight;
+        }
+        List<Component> summary = new ArrayList<>();
+        int singletons = 0;
+        for (int c = 0; c < components; c++) {
+            if (size[c] == 1) singletons++;
+            else summary.add(new Component(c, size[c], edges[c], weight[c]));
+        }
+        return new Result(totalWeight, new ArrayList<>(forestEdges), componentOf, Collections.unmodifiableList(summary),
+                singletons, null);
+    }
+
+    /** BFS from each unvisited vertex in increasing order; returns the number of components. */
+    private static int label(Graph graph, int[] componentOf, int[] order, int[] localId, int[] componentStart) {
+        int V = graph.getVertices();
+        Arrays.fill(componentOf, -1);
+        int components = 0;
+        int tail = 0;
+        for (int s = 0; s < V; s++) {
+            if (componentOf[s] >= 0) continue;
+            int head = tail;
+            componentStart[components] = head;
+            componentOf[s] = components;
+            order[tail++] = s;
+            while (head < tail) {
+                int u = order[head++];
+                for (int i = graph.adjacencyStart(u), end = graph.adjacencyEnd(u); i < end; i++) {
+                    int v = graph.adjacentVertex(i);
+                    if (componentOf[v] < 0) {
+                        componentOf[v] = components;
+                        order[tail++] = v;
+                    }
+                }
+            }
+            for (int k = componentStart[components]; k < tail; k++) localId[order[k]] = k - componentStart[components];
+            components++;
+        }
+        componentStart[components] = tail;
+        return components;
+    }
+
+    private static MstCache.Entry treeOf(Graph graph, int[] edgesByComponent, int from, int to) {
+        ArrayList<Edge> edges = new ArrayList<>(to - from);
+        int weight = 0;
+        for (int k = from; k < to; k++) {
+            int i = edgesByComponent[k];
+            edges.add(new Edge(graph.edgeU(i), graph.edgeV(i), graph.edgeWeight(i)));
+            weight += graph.edgeWeight(i);
+        }
+        return new MstCache.Entry(weight, edges, 0, 0);
+    }
+
+    private static Graph subgraph(Graph graph, int c, int[] order, int[] localId, int[] componentStart,
+                                  int[] edgesByComponent, int[] edgeStart) {
+        int from = edgeStart[c], to = edgeStart[c + 1];
+        int[] u = new int[to - from], v = new int[to - from], w = new int[to - from];
+        for (int k = from; k < to; k++) {
+            int i = edgesByComponent[k];
+            u[k - from] = localId[graph.edgeU(i)];
+            v[k - from] = localId[graph.edgeV(i)];
+            w[k - from] = graph.edgeWeight(i);
+        }
+        return new Graph(graph.getId(), componentStart[c + 1] - componentStart[c], u, v, w);
+    }
+}
@@ -0,0 +1,124 @@
+import org.example.BatchRunner;
+import org.example.Graph;
+import org.example.GraphInput;
+import org.example.MstAlgorithm;
+import org.example.OperationCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRunnerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    /** A triangle whose tree weighs {@code 1 + 2} whatever its id. */
+    private static GraphInput triangle(int id) {
+        Graph g = new Graph(id, 3, new int[]{0, 1, 2}, new int[]{1, 2, 0}, new int[]{1, 2, 5});
+        return new GraphInput(g, new String[]{"A", "B", "C"});
+    }
+
+    /** Inputs with the given ids that count how many have been taken. */
+    private static final class CountingInputs implements Iterator<GraphInput> {
+        final int[] ids;
+        int taken;
+
+        CountingInputs(int... ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return taken < ids.length;
+        }
+
+        @Override
+        public GraphInput next() {
+            return triangle(ids[taken++]);
+        }
+    }
+
+    private BatchRunner runner(int maxInFlight) {
+        return new BatchRunner(executor, Arrays.asList(MstAlgorithm.PRIM, MstAlgorithm.KRUSKAL), maxInFlight, null);
+    }
+
+    private static List<Integer> run(BatchRunner runner, int... ids) throws Exception {
+        List<Integer> order = new ArrayList<>();
+        runner.run(new CountingInputs(ids), result -> order.add(result.graphId));
+        return order;
+    }
+
+    @Test
+    void testAtMostMaxInFlightGraphsAreTakenAhead() throws Exception {
+        CountingInputs inputs = new CountingInputs(0, 1, 2, 3, 4, 5, 6);
+        List<Integer> takenAtResult = new ArrayList<>();
+        runner(2).run(inputs, result -> {
+            assertEquals(2, result.runs.size());
+            for (BatchRunner.AlgorithmRun run : result.runs) assertEquals(3, run.totalWeight);
+            takenAtResult.add(inputs.taken);
+        });
+        // Result i is handed over once graph i + 1 is in flight, and before graph i + 2 is read.
+        assertEquals(Arrays.asList(2, 3, 4, 5, 6, 7, 7), takenAtResult);
+    }
+
+    @Test
+    void testResultsAreReorderedByIdWithinTheWindow() throws Exception {
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), run(runner(2).setOrderWindow(64), 3, 1, 5, 2, 4));
+        assertEquals(Arrays.asList(1, 2, 3, 4), run(runner(1).setOrderWindow(1), 2, 1, 4, 3));
+        // The default window of 0 keeps input order.
+        assertEquals(Arrays.asList(3, 1, 5, 2, 4), run(runner(2), 3, 1, 5, 2, 4));
+        assertThrows(IllegalArgumentException.class, () -> runner(1).setOrderWindow(-1));
+    }
+
+    @Test
+    void testGraphsFurtherOutOfPlaceThanTheWindowAreWrittenLate() throws Exception {
+        // Graph 1 arrives after three larger ids have already been released.
+        assertEquals(Arrays.asList(2, 3, 4, 1, 5), run(runner(1).setOrderWindow(1), 5, 2, 3, 4, 1));
+    }
+
+    @Test
+    void testWorkerFailurePropagates() {
+        Supplier<OperationCounter> failing = () -> {
+            throw new IllegalStateException("counter unavailable");
+        };
+        BatchRunner runner = new BatchRunner(executor, Arrays.asList(MstAlgorithm.PRIM), 2, null, failing);
+        List<Integer> written = new ArrayList<>();
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> runner.run(new CountingInputs(1, 2, 3), result -> written.add(result.graphId)));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        assertEquals("counter unavailable", e.getCause().getMessage());
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    void testVirtualExecutorFallsBackToPlatformThreads() throws Exception {
+        ExecutorService virtual = BatchRunner.newExecutor("virtual", 2);
+        try {
+            Thread worker = virtual.submit(Thread::currentThread).get();
+            if (Runtime.version().feature() < 21) {
+                assertTrue(worker.getName().startsWith("mst-batch-"), worker.getName());
+                assertTrue(worker.isDaemon());
+            } else {
+                assertEquals(true, Thread.class.getMethod("isVirtual").invoke(worker));
+            }
+        } finally {
+            virtual.shutdownNow();
+        }
+        assertThrows(IllegalArgumentException.class, () -> BatchRunner.newExecutor("green", 2));
+        assertThrows(IllegalArgumentException.class, () -> BatchRunner.newExecutor("platform", 0));
+    }
+}
@@ -0,0 +1,92 @@
+import org.example.BinaryGraphFormat;
+import org.example.Graph;
+import org.example.GraphInput;
+import org.example.Kruskal;
+import org.example.Metrics;
+import org.example.Prim;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryGraphFormatTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRoundTripPreservesEdgesAdjacencyAndLabels() throws IOException {
+        Random random = new Random(3);
+        int vertices = 300, m = 4000;
+        int[] u = new int[m], v = new int[m], w = new int[m];
+        for (int i = 0; i < m; i++) {
+            u[i] = i < vertices - 1 ? i : random.nextInt(vertices);
+            v[i] = i < vertices - 1 ? i + 1 : random.nextInt(vertices);
+            w[i] = 1500 + random.nextInt(2501);
+        }
+        Graph original = new Graph(17, vertices, u, v, w);
+        String[] labels = new String[vertices];
+        for (int i = 0; i < vertices; i++) labels[i] = "v" + i + (i % 7 == 0 ? "é" : "");
+
+        Path file = dir.resolve(BinaryGraphFormat.fileName(17));
+        BinaryGraphFormat.write(new GraphInput(original, labels), file);
+        GraphInput mapped = BinaryGraphFormat.map(file);
+
+        assertEquals(17, mapped.graph.getId());
+        assertEquals(vertices, mapped.graph.getVertices());
+        assertEquals(m, mapped.graph.getEdgeCount());
+        assertArrayEquals(labels, mapped.labels);
+        for (int i = 0; i < m; i++) {
+            assertEquals(original.edgeU(i), mapped.graph.edgeU(i));
+            assertEquals(original.edgeV(i), mapped.graph.edgeV(i));
+            assertEquals(original.edgeWeight(i), mapped.graph.edgeWeight(i));
+        }
+        for (int x = 0; x < vertices; x++) {
+            assertEquals(original.adjacencyStart(x), mapped.graph.adjacencyStart(x));
+            assertEquals(original.getDegree(x), mapped.graph.getDegree(x));
+        }
+
+        Metrics pm = new Metrics(17, vertices, m, "Prim");
+        assertEquals(Kruskal.findMST(original).totalWeight, Prim.findMST(mapped.graph, pm).totalWeight);
+    }
+
+    @Test
+    void testRejectsForeignFiles() throws IOException {
+        Path file = dir.resolve("bogus.mstg");
+        Files.write(file, new byte[64]);
+        assertThrows(IOException.class, () -> BinaryGraphFormat.map(file));
+    }
+
+    @Test
+    void testRejectsCorruptEndpointsAndOffsets() throws IOException {
+        Graph graph = new Graph(2, 4, new int[]{0, 1, 2}, new int[]{1, 2, 3}, new int[]{5, 6, 7});
+        String[] labels = {"a", "b", "c", "d"};
+        Path endpoint = dir.resolve("endpoint.mstg");
+        BinaryGraphFormat.write(new GraphInput(graph, labels), endpoint);
+        // edgeV[1] is the fifth int after the 32-byte header.
+        overwriteInt(endpoint, 32 + 4 * 4, 4);
+        IOException e = assertThrows(IOException.class, () -> BinaryGraphFormat.map(endpoint));
+        assertTrue(e.getMessage().contains("edge 1"), e.getMessage());
+
+        Path offsets = dir.resolve("offsets.mstg");
+        BinaryGraphFormat.write(new GraphInput(graph, labels), offsets);
+        // adjOffsets[1] follows the three edge arrays; raising it above adjOffsets[2] breaks the order.
+        overwriteInt(offsets, 32 + 3 * 3 * 4 + 4, 5);
+        e = assertThrows(IOException.class, () -> BinaryGraphFormat.map(offsets));
+        assertTrue(e.getMessage().contains("decrease"), e.getMessage());
+    }
+
+    private static void overwriteInt(Path file, long offset, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, value), offset);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+import org.example.BatchRunner;
+import org.example.CostModel;
+import org.example.Graph;
+import org.example.GraphGenerator;
+import org.example.GraphInput;
+import org.example.Metrics;
+import org.example.MstAlgorithm;
+import org.example.MstSolver;
+import org.example.Prim;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CostModelTest {
+
+    /** A results.csv with only the columns the model reads, in a different order. */
+    private static Path history(Path dir) throws IOException {
+        StringBuilder csv = new StringBuilder("algorithm,edges,vertices,cached,median_ms\n");
+        for (int i = 1; i <= 20; i++) {
+            int v = 1_000 * i;
+            long e = 4L * v;
+            // Kruskal: 0.5 ms + 20 ms per million edges. Boruvka is always three times slower.
+            double kruskal = 0.5 + 20 * e / 1e6;
+            csv.append(String.format(Locale.US, "Kruskal,%d,%d,false,%.4f%n", e, v, kruskal));
+            csv.append(String.format(Locale.US, "Boruvka,%d,%d,false,%.4f%n", e, v, 3 * kruskal));
+            // Cached rows carry someone else's timing and must be ignored.
+            csv.append(String.format(Locale.US, "Kruskal,%d,%d,true,%.4f%n", e, v, 1000.0));
+        }
+        Path file = dir.resolve("results.csv");
+        Files.write(file, csv.toString().getBytes());
+        return file;
+    }
+
+    @Test
+    void testFitRecoversLinearCost(@TempDir Path dir) throws IOException {
+        CostModel model = CostModel.fit(history(dir));
+        assertEquals(20, model.getSamples(MstAlgorithm.KRUSKAL, ""));
+        assertEquals(0, model.getSamples(MstAlgorithm.FILTER_KRUSKAL, ""));
+        double predicted = model.predictMs(MstAlgorithm.KRUSKAL, 50_000, 200_000, 1);
+        assertEquals(0.5 + 20 * 0.2, predicted, 0.05);
+        assertTrue(model.predictMs(MstAlgorithm.BORUVKA, 50_000, 200_000, 1) > 2.5 * predicted);
+    }
+
+    @Test
+    void testSolverChoosesTheCheapestCandidate(@TempDir Path dir) throws IOException {
+        CostModel model = CostModel.fit(history(dir));
+        MstSolver solver = new MstSolver(model, Arrays.asList(MstAlgorithm.BORUVKA, MstAlgorithm.KRUSKAL));
+        Graph graph = new GraphGenerator(3).generate(1, 2_000, 8_000);
+        MstSolver.Choice choice = solver.choose(graph);
+        assertEquals(MstAlgorithm.KRUSKAL, choice.algorithm);
+        assertEquals(CostModel.weightRange(graph), choice.weightRange);
+        assertEquals(model.predictMs(MstAlgorithm.KRUSKAL, 2_000, 8_000, choice.weightRange), choice.predictedMs);
+        // Equal predictions go to the earlier candidate.
+        MstSolver tied = new MstSolver(model, Arrays.asList(MstAlgorithm.FILTER_KRUSKAL, MstAlgorithm.FILTER_KRUSKAL));
+        assertEquals(MstAlgorithm.FILTER_KRUSKAL, tied.choose(graph).algorithm);
+        assertThrows(IllegalArgumentException.class, () -> new MstSolver(model, Collections.emptyList()));
+    }
+
+    @Test
+    void testBatchRunnerRecordsTheChoice(@TempDir Path dir) throws Exception {
+        MstSolver solver = new MstSolver(CostModel.fit(history(dir)), Arrays.asList(MstAlgorithm.BORUVKA, MstAlgorithm.KRUSKAL));
+        Graph graph = new GraphGenerator(3).generate(1, 2_000, 8_000);
+        MstSolver.Choice choice = solver.choose(graph);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<BatchRunner.AlgorithmRun> runs = new ArrayList<>();
+        try {
+            new BatchRunner(executor, Arrays.asList(MstAlgorithm.BORUVKA, MstAlgorithm.KRUSKAL), 1, null)
+                    .setSolver(solver)
+                    .run(Collections.singletonList(new GraphInput(graph, GraphGenerator.labels(2_000))).iterator(),
+                            result -> runs.addAll(result.runs));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, runs.size());
+        Metrics metrics = runs.get(0).metrics;
+        assertEquals("Kruskal", metrics.getAlgorithmName());
+        assertEquals(choice.predictedMs, metrics.getPredictedMs());
+        assertEquals(choice.weightRange, metrics.getWeightRange());
+        assertEquals(Prim.findMST(graph, new Metrics(1, 2_000, 8_000, "Prim")).totalWeight, runs.get(0).totalWeight);
+    }
+
+    @Test
+    void testTrimHistoryKeepsNewestRowsPerModel(@TempDir Path dir) throws IOException {
+        Path file = history(dir);
+        // Cached rows are never fitted, so they go even when every model is within the limit.
+        assertEquals(20, CostModel.trimHistory(file, 20));
+        assertEquals(20, CostModel.fit(file).getSamples(MstAlgorithm.KRUSKAL, ""));
+        assertEquals(0, CostModel.trimHistory(file, 20));
+        assertEquals(2 * 15, CostModel.trimHistory(file, 5));
+        List<String> lines = Files.readAllLines(file);
+        assertEquals("algorithm,edges,vertices,cached,median_ms", lines.get(0));
+        assertEquals(1 + 2 * 5, lines.size());
+        // The newest rows survive, in their original order.
+        assertTrue(lines.get(1).startsWith("Kruskal,64000,16000,false,"), lines.get(1));
+        assertTrue(lines.get(10).startsWith("Boruvka,80000,20000,false,"), lines.get(10));
+
+        CostModel model = CostModel.fit(file);
+        assertEquals(0, model.getSamples(MstAlgorithm.KRUSKAL, ""));
+        assertEquals(0, CostModel.trimHistory(dir.resolve("none.csv"), 5));
+        assertThrows(IllegalArgumentException.class, () -> CostModel.trimHistory(file, 0));
+    }
+
+    @Test
+    void testMissingHistoryFallsBackToPrior(@TempDir Path dir) throws IOException {
+        CostModel model = CostModel.fit(dir.resolve("none.csv"));
+        for (MstAlgorithm algorithm : MstAlgorithm.values()) {
+            assertTrue(model.predictMs(algorithm, 1_000, 10_000, 100) > 0, algorithm.name());
+        }
+    }
+}
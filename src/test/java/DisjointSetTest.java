@@ -0,0 +1,33 @@
+import org.example.DisjointSet;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisjointSetTest {
+
+    @Test
+    void testUnionAndFind() {
+        DisjointSet sets = new DisjointSet(6);
+        assertTrue(sets.union(0, 1));
+        assertTrue(sets.union(1, 2));
+        assertTrue(sets.union(3, 4));
+        assertFalse(sets.union(0, 2), "Union inside one set must be rejected");
+        assertTrue(sets.connected(0, 2));
+        assertFalse(sets.connected(2, 3));
+        assertEquals(3, sets.getComponents());
+        assertEquals(3, sets.getUnionCount());
+        assertTrue(sets.getFindCount() > 0);
+    }
+
+    @Test
+    void testLongChainDoesNotOverflowStack() {
+        int n = 1_000_000;
+        DisjointSet sets = new DisjointSet(n);
+        for (int i = 1; i < n; i++) {
+            assertTrue(sets.union(i - 1, i));
+        }
+        assertEquals(1, sets.getComponents());
+        int root = sets.find(0);
+        assertEquals(root, sets.find(n - 1));
+    }
+}
@@ -0,0 +1,71 @@
+import org.example.DynamicMST;
+import org.example.Edge;
+import org.example.Graph;
+import org.example.Kruskal;
+import org.example.KruskalMST;
+import org.example.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicMSTTest {
+
+    private static int recomputed(int vertices, int[] u, int[] v, int[] w, int m) {
+        Graph g = new Graph(1, vertices, Arrays.copyOf(u, m), Arrays.copyOf(v, m), Arrays.copyOf(w, m));
+        return Kruskal.findMST(g).totalWeight;
+    }
+
+    @Test
+    void testUpdatesMatchRecomputation() {
+        Random random = new Random(7);
+        int vertices = 200, seedEdges = 300, total = 900;
+        int[] u = new int[total], v = new int[total], w = new int[total];
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < total; ) {
+            int a = random.nextInt(vertices), b = random.nextInt(vertices);
+            if (a == b || !seen.add(Math.min(a, b) * 1_000_000L + Math.max(a, b))) continue;
+            u[i] = a; v[i] = b; w[i] = 1 + random.nextInt(1000);
+            i++;
+        }
+
+        Graph seedGraph = new Graph(1, vertices, Arrays.copyOf(u, seedEdges), Arrays.copyOf(v, seedEdges), Arrays.copyOf(w, seedEdges));
+        KruskalMST.Result seed = KruskalMST.findMST(seedGraph, new Metrics(1, vertices, seedEdges, "Kruskal"));
+        DynamicMST mst = new DynamicMST(seedGraph, seed);
+        assertEquals(seed.totalWeight, mst.getTotalWeight());
+
+        int m = seedEdges;
+        for (int step = 0; m < total; step++) {
+            if (step % 3 == 2) {
+                int e = random.nextInt(m);
+                w[e] = Math.max(1, w[e] - random.nextInt(500));
+                mst.decreaseWeight(u[e], v[e], w[e]);
+            } else {
+                mst.insertEdge(u[m], v[m], w[m]);
+                m++;
+            }
+            assertEquals(recomputed(vertices, u, v, w, m), mst.getTotalWeight(), "after step " + step);
+        }
+        List<Edge> edges = mst.getEdges();
+        assertEquals(mst.getEdgeCount(), edges.size());
+        assertEquals(mst.getTotalWeight(), edges.stream().mapToLong(e -> e.weight).sum());
+    }
+
+    @Test
+    void testReplacesHeaviestEdgeOnCycle() {
+        DynamicMST mst = new DynamicMST(4, Arrays.asList(new Edge(0, 1, 5), new Edge(1, 2, 9), new Edge(2, 3, 1)));
+        assertEquals(9, mst.maxWeightOnPath(0, 3));
+        assertFalse(mst.insertEdge(0, 2, 10));
+        assertTrue(mst.insertEdge(0, 2, 4));
+        assertEquals(10, mst.getTotalWeight());
+        assertEquals(5, mst.maxWeightOnPath(1, 3));
+        assertThrows(IllegalArgumentException.class, () -> mst.decreaseWeight(0, 1, 6));
+        assertThrows(IllegalArgumentException.class, () -> new DynamicMST(3, Arrays.asList(
+                new Edge(0, 1, 1), new Edge(1, 2, 1), new Edge(2, 0, 1))));
+    }
+}
@@ -0,0 +1,56 @@
+import org.example.EdgeSorter;
+import org.example.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeSorterTest {
+
+    private static Graph randomGraph(int edges, int minWeight, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        int vertices = 50;
+        int[] u = new int[edges], v = new int[edges], w = new int[edges];
+        for (int i = 0; i < edges; i++) {
+            u[i] = random.nextInt(vertices);
+            v[i] = random.nextInt(vertices);
+            w[i] = minWeight + random.nextInt(maxWeight - minWeight + 1);
+        }
+        return new Graph(1, vertices, u, v, w);
+    }
+
+    private static void assertStableOrder(Graph graph, int[] order) {
+        assertEquals(graph.getEdgeCount(), order.length);
+        boolean[] seen = new boolean[order.length];
+        for (int i = 0; i < order.length; i++) {
+            assertFalse(seen[order[i]], "Every edge index must appear once");
+            seen[order[i]] = true;
+            if (i > 0) {
+                int prev = graph.edgeWeight(order[i - 1]), cur = graph.edgeWeight(order[i]);
+                assertTrue(prev <= cur, "Weights must be non-decreasing");
+                if (prev == cur) assertTrue(order[i - 1] < order[i], "Equal weights must keep input order");
+            }
+        }
+    }
+
+    @Test
+    void testCountingSortOnGeneratorWeights() {
+        Graph graph = randomGraph(20_000, 1500, 4000, 7);
+        assertEquals(EdgeSorter.Strategy.COUNTING, EdgeSorter.chooseStrategy(2501, graph.getEdgeCount()));
+        assertStableOrder(graph, EdgeSorter.sortByWeight(graph));
+    }
+
+    @Test
+    void testRadixSortOnWideAndNegativeWeights() {
+        Graph graph = randomGraph(5_000, -1_000_000_000, 1_000_000_000, 11);
+        assertEquals(EdgeSorter.Strategy.RADIX, EdgeSorter.chooseStrategy(2_000_000_001L, graph.getEdgeCount()));
+        assertStableOrder(graph, EdgeSorter.sortByWeight(graph));
+    }
+
+    @Test
+    void testEmptyGraph() {
+        Graph graph = new Graph(1, 3, new int[0], new int[0], new int[0]);
+        assertEquals(0, EdgeSorter.sortByWeight(graph).length);
+    }
+}
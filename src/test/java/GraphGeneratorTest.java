@@ -0,0 +1,76 @@
+import org.example.DisjointSet;
+import org.example.Graph;
+import org.example.GraphFamily;
+import org.example.GraphGenerator;
+import org.example.Kruskal;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphGeneratorTest {
+
+    private static void assertSimpleConnected(Graph g, long expectedEdges) {
+        assertEquals(expectedEdges, g.getEdgeCount());
+        Set<Long> pairs = new HashSet<>();
+        DisjointSet sets = new DisjointSet(g.getVertices());
+        for (int i = 0; i < g.getEdgeCount(); i++) {
+            int a = Math.min(g.edgeU(i), g.edgeV(i)), b = Math.max(g.edgeU(i), g.edgeV(i));
+            assertNotEquals(a, b, "Self-loop at edge " + i);
+            assertTrue(pairs.add((long) a << 32 | b), "Parallel edge " + a + "-" + b);
+            assertTrue(g.edgeWeight(i) >= GraphGenerator.DEFAULT_MIN_WEIGHT && g.edgeWeight(i) <= GraphGenerator.DEFAULT_MAX_WEIGHT);
+            sets.union(a, b);
+        }
+        assertEquals(1, sets.getComponents());
+    }
+
+    @Test
+    void testSparseAndDenseGraphsAreSimpleAndConnected() {
+        GraphGenerator generator = new GraphGenerator(3);
+        assertSimpleConnected(generator.generate(1, 40_000, 100_000), 100_000);
+        assertSimpleConnected(generator.generate(2, 300, GraphGenerator.edgesForDensity(300, 0.5)), 22_425);
+        assertSimpleConnected(generator.generate(3, 60, GraphGenerator.edgesForDensity(60, 1.0)), 1_770);
+        assertSimpleConnected(generator.generate(4, 1, 10), 0);
+    }
+
+    @Test
+    void testOutputDependsOnlyOnSeedNotThreads() {
+        ForkJoinPool one = new ForkJoinPool(1), four = new ForkJoinPool(4);
+        try {
+            Graph a = new GraphGenerator(42, one).generate(7, 50_000, GraphGenerator.edgesForAverageDegree(50_000, 6));
+            Graph b = new GraphGenerator(42, four).generate(7, 50_000, GraphGenerator.edgesForAverageDegree(50_000, 6));
+            Graph c = new GraphGenerator(43, four).generate(7, 50_000, GraphGenerator.edgesForAverageDegree(50_000, 6));
+            assertEquals(150_000, a.getEdgeCount());
+            boolean differs = false;
+            for (int i = 0; i < a.getEdgeCount(); i++) {
+                assertEquals(a.edgeU(i), b.edgeU(i));
+                assertEquals(a.edgeV(i), b.edgeV(i));
+                assertEquals(a.edgeWeight(i), b.edgeWeight(i));
+                differs |= a.edgeU(i) != c.edgeU(i);
+            }
+            assertTrue(differs, "A different seed must give a different graph");
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+
+    @Test
+    void testEveryFamilyIsSimpleAndConnected() {
+        GraphGenerator generator = new GraphGenerator(11);
+        for (GraphFamily family : GraphFamily.values()) {
+            for (int vertices : new int[]{1, 2, 7, 500}) {
+                Graph g = family.generate(generator, 1, vertices, 6);
+                assertSimpleConnected(g, g.getEdgeCount());
+                assertEquals(vertices - 1, Kruskal.findMST(g).mstEdges.size(), family + " V=" + vertices);
+            }
+        }
+        assertEquals(20 * 19 / 2, GraphFamily.COMPLETE.generate(generator, 1, 20, 0).getEdgeCount());
+        assertEquals(99, GraphFamily.PATH.generate(generator, 1, 100, 0).getEdgeCount());
+        assertEquals(180, GraphFamily.GRID.generate(generator, 1, 100, 0).getEdgeCount());
+        assertEquals(GraphFamily.POWER_LAW, GraphFamily.fromName("Power-Law"));
+    }
+}
@@ -0,0 +1,44 @@
+import org.example.Edge;
+import org.example.Graph;
+import org.example.GraphGenerator;
+import org.example.GraphVisualizer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphVisualizerTest {
+
+    @BeforeAll
+    static void headless() {
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    @Test
+    void testDensityDrawsEdgesAndMstOverlay() {
+        // On a 400px canvas the four vertices sit at (320,200), (200,320), (80,200) and (200,80).
+        Graph graph = new Graph(1, 4, new int[]{0, 1}, new int[]{2, 3}, new int[]{1, 2});
+        BufferedImage image = GraphVisualizer.renderDensity(graph, Collections.singletonList(new Edge(0, 2, 1)), 400, 1);
+
+        assertEquals(GraphVisualizer.MST_RGB, image.getRGB(260, 200) & 0xFFFFFF);
+        int plain = image.getRGB(200, 140) & 0xFFFFFF;
+        assertNotEquals(GraphVisualizer.BACKGROUND_RGB, plain);
+        assertNotEquals(GraphVisualizer.MST_RGB, plain);
+        assertEquals(GraphVisualizer.BACKGROUND_RGB, image.getRGB(390, 390) & 0xFFFFFF);
+    }
+
+    @Test
+    void testStripedRasterMatchesSingleThread() {
+        Graph graph = new GraphGenerator(7).generate(1, 1000, 20000);
+        BufferedImage single = GraphVisualizer.renderDensity(graph, Collections.emptyList(), 600, 1);
+        BufferedImage striped = GraphVisualizer.renderDensity(graph, Collections.emptyList(), 600, 4);
+        for (int y = 0; y < 600; y++) {
+            for (int x = 0; x < 600; x++) {
+                assertEquals(single.getRGB(x, y), striped.getRGB(x, y), "pixel " + x + "," + y);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+import org.example.IndexedMinHeap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedMinHeapTest {
+
+    @Test
+    void testPollReturnsIdsInKeyOrder() {
+        for (int arity : new int[]{2, 4}) {
+            int n = 500;
+            Random random = new Random(42);
+            IndexedMinHeap heap = new IndexedMinHeap(n, arity);
+            int[] keys = new int[n];
+            for (int id = 0; id < n; id++) {
+                keys[id] = random.nextInt(1000);
+                heap.insert(id, keys[id]);
+            }
+            int[] sorted = keys.clone();
+            Arrays.sort(sorted);
+            for (int i = 0; i < n; i++) {
+                int id = heap.pollMin();
+                assertEquals(sorted[i], keys[id], "Ids must come out in key order (arity=" + arity + ")");
+                assertFalse(heap.contains(id));
+            }
+            assertTrue(heap.isEmpty());
+        }
+    }
+
+    @Test
+    void testDecreaseKeyMovesIdToFront() {
+        IndexedMinHeap heap = IndexedMinHeap.quaternary(10);
+        for (int id = 0; id < 10; id++) heap.insert(id, 100 + id);
+        heap.decreaseKey(7, 5);
+        assertEquals(10, heap.size(), "Decrease-key must not add a second entry");
+        assertEquals(5, heap.keyOf(7));
+        assertEquals(7, heap.pollMin());
+        assertEquals(0, heap.pollMin());
+    }
+
+    @Test
+    void testInvalidOperations() {
+        IndexedMinHeap heap = IndexedMinHeap.binary(3);
+        heap.insert(1, 10);
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(1, 5));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(1, 20));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(2, 1));
+        heap.pollMin();
+        assertThrows(IllegalStateException.class, heap::pollMin);
+    }
+}
@@ -0,0 +1,90 @@
+import org.example.GraphInput;
+import org.example.JsonGraphReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonGraphReaderTest {
+
+    @Test
+    void testReadsLabelledGraphWithNodesAfterEdges() {
+        String json = "{\"graphs\": [{\"edges\": ["
+                + "{\"from\": \"C\", \"to\": \"A\", \"weight\": 5},"
+                + "{\"weight\": 7, \"from\": \"A\", \"to\": \"B\"}],"
+                + "\"id\": 4, \"nodes\": [\"A\", \"B\", \"C\"]}]}";
+        JsonGraphReader reader = new JsonGraphReader(new StringReader(json));
+        assertTrue(reader.hasNext());
+        GraphInput in = reader.next();
+        assertFalse(reader.hasNext());
+
+        assertEquals(4, in.graph.getId());
+        assertEquals(3, in.graph.getVertices());
+        assertArrayEquals(new String[]{"A", "B", "C"}, in.labels);
+        assertEquals(2, in.graph.getEdgeCount());
+        assertEquals(2, in.graph.edgeU(0));
+        assertEquals(0, in.graph.edgeV(0));
+        assertEquals(5, in.graph.edgeWeight(0));
+        assertEquals(0, in.graph.edgeU(1));
+        assertEquals(1, in.graph.edgeV(1));
+        assertEquals(7, in.graph.edgeWeight(1));
+    }
+
+    @Test
+    void testReadsNumericGraphsInOrder() {
+        String json = "{\"meta\": {\"ignored\": [1, 2]}, \"graphs\": ["
+                + "{\"id\": 1, \"vertices\": 3, \"edges\": [{\"u\": 0, \"v\": 1, \"weight\": 2}, {\"u\": 1, \"v\": 2, \"weight\": 3}]},"
+                + "{\"id\": 2, \"vertices\": 2, \"edges\": []}]}";
+        JsonGraphReader reader = new JsonGraphReader(new StringReader(json));
+        GraphInput first = reader.next();
+        GraphInput second = reader.next();
+        assertFalse(reader.hasNext());
+        assertEquals(1, first.graph.getId());
+        assertEquals(2, first.graph.getEdgeCount());
+        assertEquals("2", first.labels[2]);
+        assertEquals(2, second.graph.getId());
+        assertEquals(0, second.graph.getEdgeCount());
+    }
+
+    @Test
+    void testOffHeapReadMatchesHeapRead() {
+        // Labels first seen out of node order, and more edges than the initial buffers hold.
+        StringBuilder json = new StringBuilder("{\"graphs\": [{\"id\": 7, \"edges\": [");
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"from\": \"n").append((i * 7) % 40).append("\", \"to\": \"n").append((i * 3 + 1) % 40)
+                    .append("\", \"weight\": ").append(i % 13).append('}');
+        }
+        json.append("], \"nodes\": [");
+        for (int i = 0; i < 40; i++) json.append(i > 0 ? "," : "").append("\"n").append(i).append('"');
+        json.append("]}]}");
+
+        GraphInput heap = new JsonGraphReader(new StringReader(json.toString())).next();
+        GraphInput offHeap = new JsonGraphReader(new StringReader(json.toString())).setOffHeap(true).next();
+        assertFalse(heap.graph.isOffHeap());
+        assertTrue(offHeap.graph.isOffHeap());
+        assertArrayEquals(heap.labels, offHeap.labels);
+        assertEquals(100, offHeap.graph.getEdgeCount());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(heap.graph.edgeU(i), offHeap.graph.edgeU(i));
+            assertEquals(heap.graph.edgeV(i), offHeap.graph.edgeV(i));
+            assertEquals(heap.graph.edgeWeight(i), offHeap.graph.edgeWeight(i));
+        }
+        for (int x = 0; x < 40; x++) assertEquals(heap.graph.adjacencyStart(x), offHeap.graph.adjacencyStart(x));
+        for (int i = 0; i < 200; i++) assertEquals(heap.graph.adjacentVertex(i), offHeap.graph.adjacentVertex(i));
+    }
+
+    @Test
+    void testRejectsUnknownNodesAndMissingFields() {
+        String unknownNode = "{\"graphs\": [{\"id\": 1, \"nodes\": [\"A\"], \"edges\": [{\"from\": \"A\", \"to\": \"Z\", \"weight\": 1}]}]}";
+        assertThrows(UncheckedIOException.class, () -> new JsonGraphReader(new StringReader(unknownNode)).next());
+
+        String noWeight = "{\"graphs\": [{\"id\": 1, \"vertices\": 2, \"edges\": [{\"u\": 0, \"v\": 1}]}]}";
+        assertThrows(UncheckedIOException.class, () -> new JsonGraphReader(new StringReader(noWeight)).next());
+
+        String noGraphs = "{\"other\": []}";
+        assertThrows(UncheckedIOException.class, () -> new JsonGraphReader(new StringReader(noGraphs)).hasNext());
+    }
+}
@@ -0,0 +1,132 @@
+import org.example.BatchRunner;
+import org.example.Graph;
+import org.example.GraphInput;
+import org.example.JsonResultWriter;
+import org.example.MstAlgorithm;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonResultWriterTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    /** A square A-B-C-D with a heavy diagonal, plus the isolated vertices E and F. */
+    private static GraphInput squareWithIsolatedVertices(int id) {
+        Graph g = new Graph(id, 6, new int[]{0, 1, 2, 3, 0}, new int[]{1, 2, 3, 0, 2}, new int[]{4, 1, 3, 2, 9});
+        return new GraphInput(g, new String[]{"A", "B", "C", "D", "E", "F"});
+    }
+
+    /** Runs {@code runner} over the inputs and parses the output.json it writes. */
+    private static JSONArray roundTrip(BatchRunner runner, boolean pretty, GraphInput... inputs) throws Exception {
+        StringWriter out = new StringWriter();
+        List<BatchRunner.GraphResult> results = new ArrayList<>();
+        try (JsonResultWriter writer = new JsonResultWriter(out, pretty)) {
+            runner.run(Arrays.asList(inputs).iterator(), result -> {
+                results.add(result);
+                try {
+                    writer.write(result);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            assertEquals(inputs.length, writer.getWritten());
+        }
+        JSONArray parsed = new JSONObject(out.toString()).getJSONArray("results");
+        assertEquals(results.size(), parsed.length());
+        for (int i = 0; i < results.size(); i++) {
+            BatchRunner.GraphResult result = results.get(i);
+            JSONObject entry = parsed.getJSONObject(i);
+            for (BatchRunner.AlgorithmRun run : result.runs) {
+                JSONObject json = entry.getJSONObject(run.algorithm.getJsonKey());
+                assertEquals(run.metrics.getTotalOperations(), json.getLong("operations_count"));
+                assertEquals(run.metrics.getExecutionTimeMs(), json.getDouble("execution_time_ms"));
+            }
+        }
+        return parsed;
+    }
+
+    @Test
+    void testEntryFieldsRoundTrip() throws Exception {
+        BatchRunner runner = new BatchRunner(executor, Arrays.asList(MstAlgorithm.PRIM, MstAlgorithm.BORUVKA), 2, null);
+        JSONArray results = roundTrip(runner, true, squareWithIsolatedVertices(7), squareWithIsolatedVertices(8));
+
+        JSONObject first = results.getJSONObject(0);
+        assertEquals(7, first.getInt("graph_id"));
+        assertEquals(6, first.getJSONObject("input_stats").getInt("vertices"));
+        assertEquals(5, first.getJSONObject("input_stats").getInt("edges"));
+        assertEquals(8, results.getJSONObject(1).getInt("graph_id"));
+
+        JSONObject prim = first.getJSONObject("prim");
+        assertEquals(1 + 2 + 3, prim.getInt("total_cost"));
+        JSONArray edges = prim.getJSONArray("mst_edges");
+        assertEquals(3, edges.length());
+        int weight = 0;
+        for (int i = 0; i < edges.length(); i++) {
+            JSONObject e = edges.getJSONObject(i);
+            assertTrue("ABCD".contains(e.getString("from")));
+            assertTrue("ABCD".contains(e.getString("to")));
+            weight += e.getInt("weight");
+        }
+        assertEquals(6, weight);
+        // Plain runs span only vertex 0's component and say so.
+        assertFalse(prim.getBoolean("spans_all_vertices"));
+        assertFalse(prim.has("timing"));
+        assertFalse(prim.has("predicted_ms"));
+        assertFalse(prim.has("cached"));
+
+        JSONObject boruvka = first.getJSONObject("boruvka");
+        assertEquals(6, boruvka.getInt("total_cost"));
+        assertTrue(boruvka.getLong("rounds") > 0);
+        assertTrue(boruvka.has("parallel_work"));
+    }
+
+    @Test
+    void testForestAndTimingRoundTrip() throws Exception {
+        BatchRunner runner = new BatchRunner(executor, Arrays.asList(MstAlgorithm.KRUSKAL), 1, null)
+                .setForest(true)
+                .setIterations(2, 5);
+        JSONObject kruskal = roundTrip(runner, false, squareWithIsolatedVertices(3)).getJSONObject(0).getJSONObject("kruskal");
+
+        assertEquals(6, kruskal.getInt("total_cost"));
+        assertEquals(3, kruskal.getInt("component_count"));
+        assertEquals(2, kruskal.getInt("singletons"));
+        JSONArray components = kruskal.getJSONArray("components");
+        assertEquals(1, components.length());
+        assertEquals(4, components.getJSONObject(0).getInt("vertices"));
+        assertEquals(5, components.getJSONObject(0).getInt("edges"));
+        assertEquals(6, components.getJSONObject(0).getInt("total_cost"));
+        assertFalse(kruskal.has("spans_all_vertices"));
+
+        JSONObject timing = kruskal.getJSONObject("timing");
+        assertEquals(2, timing.getInt("warmup_iterations"));
+        assertEquals(5, timing.getInt("iterations"));
+        assertTrue(timing.getDouble("min_ms") <= timing.getDouble("median_ms"));
+        assertTrue(timing.getDouble("median_ms") <= timing.getDouble("max_ms"));
+        assertEquals(timing.getDouble("median_ms"), kruskal.getDouble("execution_time_ms"), 0.001);
+    }
+
+    @Test
+    void testEmptyBatchIsAValidDocument() throws IOException {
+        StringWriter out = new StringWriter();
+        new JsonResultWriter(out, false).close();
+        assertEquals(0, new JSONObject(out.toString()).getJSONArray("results").length());
+    }
+}
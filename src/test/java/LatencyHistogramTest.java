@@ -0,0 +1,29 @@
+import org.example.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testPercentilesUseNearestRank() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 100; i >= 1; i--) h.record(i);
+        assertEquals(100, h.getCount());
+        assertEquals(1, h.getMin());
+        assertEquals(50, h.getMedian());
+        assertEquals(90, h.percentile(90));
+        assertEquals(99, h.percentile(99));
+        assertEquals(100, h.getMax());
+        assertEquals(29.011, h.getStdDev(), 1e-3);
+    }
+
+    @Test
+    void testSingleSample() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(2.5);
+        assertEquals(2.5, h.percentile(99));
+        assertEquals(0, h.getStdDev());
+        assertThrows(IllegalStateException.class, () -> new LatencyHistogram().getMedian());
+    }
+}
@@ -0,0 +1,136 @@
+import org.example.BoruvkaMST;
+import org.example.DensePrimMST;
+import org.example.FilterKruskalMST;
+import org.example.Graph;
+import org.example.Kruskal;
+import org.example.KruskalMST;
+import org.example.Edge;
+import org.example.Metrics;
+import org.example.Prim;
+import org.example.PrimMST;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MSTEquivalenceTest {
+
+    @Test
+    void testFilterKruskalMatchesKruskal() {
+        int[][] shapes = {{2, 0}, {10, 30}, {300, 5_000}, {2_000, 200_000}, {50_000, 100_000}};
+        int[] maxWeights = {1, 10, 4000, 1_000_000};
+        long seed = 1;
+        for (int[] shape : shapes) {
+            for (int maxWeight : maxWeights) {
+                Graph g = TestGraphs.randomConnectedGraph((int) seed, shape[0], shape[1], maxWeight, seed++);
+                Kruskal.Result expected = Kruskal.findMST(g);
+                KruskalMST.Result actual = FilterKruskalMST.findMST(g, TestGraphs.metrics(g, "FilterKruskal"));
+                assertEquals(expected.totalWeight, actual.totalWeight, "Total weight for V=" + shape[0] + " maxWeight=" + maxWeight);
+                assertEquals(g.getVertices() - 1, actual.mstEdges.size());
+            }
+        }
+    }
+
+    @Test
+    void testFilterKruskalOnDisconnectedGraph() {
+        Graph g = new Graph(1, 6, new int[]{0, 1, 3, 4}, new int[]{1, 2, 4, 5}, new int[]{1, 1, 1, 1});
+        KruskalMST.Result r = FilterKruskalMST.findMST(g, TestGraphs.metrics(g, "FilterKruskal"));
+        assertEquals(4, r.mstEdges.size());
+        assertEquals(4, r.totalWeight);
+    }
+
+    @Test
+    void testBoruvkaMatchesKruskal() {
+        int[][] shapes = {{2, 0}, {10, 30}, {300, 5_000}, {2_000, 200_000}, {50_000, 100_000}};
+        int[] maxWeights = {1, 10, 4000, 1_000_000};
+        long seed = 100;
+        for (int[] shape : shapes) {
+            for (int maxWeight : maxWeights) {
+                Graph g = TestGraphs.randomConnectedGraph((int) seed, shape[0], shape[1], maxWeight, seed++);
+                Kruskal.Result expected = Kruskal.findMST(g);
+                Metrics m = TestGraphs.metrics(g, "Boruvka");
+                KruskalMST.Result actual = BoruvkaMST.findMST(g, m);
+                assertEquals(expected.totalWeight, actual.totalWeight, "Total weight for V=" + shape[0] + " maxWeight=" + maxWeight);
+                assertEquals(g.getVertices() - 1, actual.mstEdges.size());
+                assertTrue(m.getRounds() <= 32 - Integer.numberOfLeadingZeros(g.getVertices()), "Borůvka needs at most log2(V) rounds");
+            }
+        }
+    }
+
+    @Test
+    void testBoruvkaOnDisconnectedGraph() {
+        Graph g = new Graph(1, 7, new int[]{0, 1, 3, 4}, new int[]{1, 2, 4, 5}, new int[]{1, 1, 1, 1});
+        KruskalMST.Result r = BoruvkaMST.findMST(g, TestGraphs.metrics(g, "Boruvka"));
+        assertEquals(4, r.mstEdges.size());
+        assertEquals(4, r.totalWeight);
+    }
+
+    @Test
+    void testPrimEdgeListCarriesGraphWeights() {
+        Graph g = TestGraphs.randomConnectedGraph(5, 500, 4_000, 4000, 5);
+        Map<Long, Integer> lightest = new HashMap<>();
+        for (int i = 0; i < g.getEdgeCount(); i++) {
+            int a = Math.min(g.edgeU(i), g.edgeV(i)), b = Math.max(g.edgeU(i), g.edgeV(i));
+            lightest.merge((long) a << 32 | b, g.edgeWeight(i), Math::min);
+        }
+        PrimMST.Result r = PrimMST.findMST(g, TestGraphs.metrics(g, "Prim"));
+        List<Edge> edges = r.getMstEdges();
+        assertEquals(g.getVertices() - 1, edges.size());
+        long sum = 0;
+        for (Edge e : edges) {
+            int a = Math.min(e.u, e.v), b = Math.max(e.u, e.v);
+            assertEquals(lightest.get((long) a << 32 | b), e.weight, "Weight of " + e);
+            sum += e.weight;
+        }
+        assertEquals(r.totalWeight, sum);
+        assertEquals(Kruskal.findMST(g).totalWeight, r.totalWeight);
+        assertEquals(-1, r.parentWeight[0]);
+    }
+
+    @Test
+    void testDensePrimMatchesKruskal() {
+        int[][] shapes = {{1, 0}, {2, 0}, {10, 30}, {300, 20_000}, {1_000, 300_000}};
+        // 60_000 still fits the char matrix; 1_000_000 and the negative weights need the int one.
+        int[] maxWeights = {1, 10, 60_000, 1_000_000};
+        long seed = 11;
+        for (int[] shape : shapes) {
+            for (int maxWeight : maxWeights) {
+                Graph g = TestGraphs.randomConnectedGraph(1, shape[0], shape[1], maxWeight, seed++);
+                PrimMST.Result r = DensePrimMST.findMST(g, TestGraphs.metrics(g, "Prim"));
+                assertEquals(Kruskal.findMST(g).totalWeight, r.totalWeight, "V=" + shape[0] + " maxWeight=" + maxWeight);
+                assertEquals(PrimMST.findMST(g, TestGraphs.metrics(g, "Prim")).totalWeight, r.totalWeight);
+                assertEquals(Math.max(0, g.getVertices() - 1), r.getMstEdges().size());
+            }
+        }
+        Graph negative = new Graph(2, 4, new int[]{0, 1, 2, 0, 3}, new int[]{1, 2, 3, 2, 3}, new int[]{-5, 3, -2, 1, 7});
+        PrimMST.Result r = DensePrimMST.findMST(negative, TestGraphs.metrics(negative, "Prim"));
+        assertEquals(-6, r.totalWeight);
+        assertEquals(-1, r.parentWeight[0]);
+    }
+
+    @Test
+    void testPrimPicksDenseVariantByDensity() {
+        Graph sparse = TestGraphs.randomConnectedGraph(1, 1_000, 2_000, 100, 3);
+        Graph dense = TestGraphs.randomConnectedGraph(2, 1_000, 300_000, 100, 4);
+        Metrics sparseMetrics = TestGraphs.metrics(sparse, "Prim");
+        Metrics denseMetrics = TestGraphs.metrics(dense, "Prim");
+        Prim.findMST(sparse, sparseMetrics);
+        Prim.Result r = Prim.findMST(dense, denseMetrics);
+        assertEquals("heap", sparseMetrics.getVariant());
+        assertEquals("dense", denseMetrics.getVariant());
+        assertEquals(Kruskal.findMST(dense).totalWeight, r.totalWeight);
+        assertFalse(DensePrimMST.prefers(DensePrimMST.MAX_VERTICES + 1, Long.MAX_VALUE / 4));
+
+        // Integer.MAX_VALUE is the int matrix's missing-edge mark, so this dense graph runs on the heap.
+        int max = Integer.MAX_VALUE;
+        Graph unstorable = new Graph(3, 4, new int[]{0, 1, 2, 0, 0, 1}, new int[]{1, 2, 3, 2, 3, 3},
+                new int[]{1, 2, 3, max, max, max});
+        Metrics fallbackMetrics = TestGraphs.metrics(unstorable, "Prim");
+        assertTrue(DensePrimMST.prefers(4, 6));
+        assertEquals(6, Prim.findMST(unstorable, fallbackMetrics).totalWeight);
+        assertEquals("heap", fallbackMetrics.getVariant());
+    }
+}
@@ -0,0 +1,54 @@
+import org.example.Graph;
+import org.example.Metrics;
+import org.example.OperationCounter;
+import org.example.PrimMST;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    private static Graph square() {
+        return new Graph(1, 4, new int[]{0, 1, 2, 3, 0}, new int[]{1, 2, 3, 0, 2}, new int[]{1, 2, 3, 4, 5});
+    }
+
+    @Test
+    void testDisabledCounterRecordsNothing() {
+        Graph g = square();
+        Metrics counted = new Metrics(1, 4, 5, "Prim");
+        Metrics off = new Metrics(1, 4, 5, "Prim", OperationCounter.disabled());
+        assertEquals(PrimMST.findMST(g, counted).totalWeight, PrimMST.findMST(g, off).totalWeight);
+        assertTrue(counted.getTotalOperations() > 0);
+        assertEquals(0, off.getTotalOperations());
+        assertFalse(off.getCounter().isEnabled());
+        assertEquals(6, off.getTotalCost());
+    }
+
+    @Test
+    void testStripedCounterIsThreadSafe() throws InterruptedException {
+        Metrics metrics = new Metrics(1, 4, 5, "Boruvka", OperationCounter.striped());
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    metrics.incrementComparison();
+                    metrics.addUnions(2);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) thread.join();
+        assertEquals(400_000, metrics.getComparisons());
+        assertEquals(800_000, metrics.getUnions());
+    }
+
+    @Test
+    void testForModeRejectsUnknownMode() {
+        assertEquals(0, OperationCounter.forMode("off").get().getComparisons());
+        assertThrows(IllegalArgumentException.class, () -> OperationCounter.forMode("sampled"));
+    }
+}
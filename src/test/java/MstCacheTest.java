@@ -0,0 +1,63 @@
+import org.example.Edge;
+import org.example.Graph;
+import org.example.MstAlgorithm;
+import org.example.MstCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MstCacheTest {
+
+    @Test
+    void testDigestIgnoresEdgeOrderAndDirection() {
+        Graph g1 = new Graph(1, 4, new int[]{0, 1, 2}, new int[]{1, 2, 3}, new int[]{5, 6, 7});
+        Graph g2 = new Graph(9, 4, new int[]{3, 0, 2}, new int[]{2, 1, 1}, new int[]{7, 5, 6});
+        Graph g3 = new Graph(1, 4, new int[]{0, 1, 2}, new int[]{1, 2, 3}, new int[]{5, 6, 8});
+        Graph g4 = new Graph(1, 5, new int[]{0, 1, 2}, new int[]{1, 2, 3}, new int[]{5, 6, 7});
+        String d = MstCache.graphDigest(g1);
+        assertEquals(d, MstCache.graphDigest(g2));
+        assertNotEquals(d, MstCache.graphDigest(g3));
+        assertNotEquals(d, MstCache.graphDigest(g4));
+        assertNotEquals(MstCache.key(d, MstAlgorithm.PRIM), MstCache.key(d, MstAlgorithm.KRUSKAL));
+    }
+
+    @Test
+    void testDiskTierSurvivesEviction(@TempDir Path dir) {
+        MstCache cache = new MstCache(1, dir);
+        MstCache.Entry entry = new MstCache.Entry(11, new ArrayList<>(Arrays.asList(new Edge(0, 1, 5), new Edge(1, 2, 6))), 1.5, 42);
+        assertNull(cache.get("a"));
+        cache.put("a", entry);
+        cache.put("b", new MstCache.Entry(0, new ArrayList<>(), 0, 0));
+
+        MstCache.Entry loaded = new MstCache(1, dir).get("a");
+        assertNotNull(loaded);
+        assertEquals(11, loaded.totalWeight);
+        assertEquals(2, loaded.edges.size());
+        assertEquals(6, loaded.edges.get(1).weight);
+        assertEquals(42, loaded.operations);
+
+        assertNotNull(cache.get("a"), "Evicted from memory but still on disk");
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testUnwritableDirectoryKeepsMemoryTier(@TempDir Path dir) throws IOException {
+        // A regular file where the cache directory should be makes every write fail.
+        Path blocked = Files.createFile(dir.resolve("not-a-dir"));
+        MstCache cache = new MstCache(4, blocked);
+        cache.put("a", new MstCache.Entry(3, new ArrayList<>(Arrays.asList(new Edge(0, 1, 3))), 0, 0));
+        assertEquals(3, cache.get("a").totalWeight);
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count(), "No temporary file left behind");
+        }
+    }
+}
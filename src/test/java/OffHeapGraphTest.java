@@ -0,0 +1,93 @@
+import org.example.Edge;
+import org.example.EdgeSorter;
+import org.example.Graph;
+import org.example.KruskalMST;
+import org.example.OffHeapGraphBuilder;
+import org.example.Prim;
+import org.example.PrimMST;
+import org.junit.jupiter.api.Test;
+
+import java.nio.IntBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapGraphTest {
+
+    private static void assertSameStorage(Graph expected, Graph actual) {
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        for (int i = 0; i < expected.getEdgeCount(); i++) {
+            assertEquals(expected.edgeU(i), actual.edgeU(i));
+            assertEquals(expected.edgeV(i), actual.edgeV(i));
+            assertEquals(expected.edgeWeight(i), actual.edgeWeight(i));
+        }
+        for (int x = 0; x < expected.getVertices(); x++) {
+            assertEquals(expected.adjacencyStart(x), actual.adjacencyStart(x));
+            assertEquals(expected.adjacencyEnd(x), actual.adjacencyEnd(x));
+        }
+        for (int i = 0; i < 2 * expected.getEdgeCount(); i++) {
+            assertEquals(expected.adjacentVertex(i), actual.adjacentVertex(i));
+            assertEquals(expected.adjacentWeight(i), actual.adjacentWeight(i));
+        }
+    }
+
+    @Test
+    void testBuilderMatchesHeapGraph() {
+        Graph heap = TestGraphs.randomConnectedGraph(3, 500, 5_500, 100, 5);
+        OffHeapGraphBuilder builder = new OffHeapGraphBuilder(3, heap.getVertices(), heap.getEdgeCount() + 10);
+        for (int i = 0; i < heap.getEdgeCount(); i++) builder.addEdge(heap.edgeU(i), heap.edgeV(i), heap.edgeWeight(i));
+        Graph offHeap = builder.build();
+
+        assertFalse(heap.isOffHeap());
+        assertTrue(offHeap.isOffHeap());
+        assertEquals(3, offHeap.getId());
+        assertSameStorage(heap, offHeap);
+
+        PrimMST.Result prim = PrimMST.findMST(offHeap, TestGraphs.metrics(offHeap, "Prim"));
+        assertArrayEquals(PrimMST.findMST(heap, TestGraphs.metrics(heap, "Prim")).parent, prim.parent);
+        KruskalMST.Result kruskal = KruskalMST.findMST(offHeap, TestGraphs.metrics(offHeap, "Kruskal"));
+        assertEquals(prim.totalWeight, kruskal.totalWeight);
+        assertSameEdges(KruskalMST.findMST(heap, TestGraphs.metrics(heap, "Kruskal")).mstEdges, kruskal.mstEdges);
+    }
+
+    @Test
+    void testCopyRunsKruskalWithRadixSortOffHeap() {
+        Graph heap = TestGraphs.randomConnectedGraph(4, 2_000, 18_000, 1_000_000_000, 11);
+        Graph offHeap = OffHeapGraphBuilder.copyOf(heap);
+        assertTrue(offHeap.isOffHeap());
+        assertSameStorage(heap, offHeap);
+
+        IntBuffer order = EdgeSorter.sortByWeightOffHeap(offHeap);
+        assertTrue(order.isDirect());
+        assertArrayEquals(EdgeSorter.sortByWeight(heap), toArray(order));
+
+        KruskalMST.Result kruskal = KruskalMST.findMST(offHeap, TestGraphs.metrics(offHeap, "Kruskal"));
+        assertSameEdges(KruskalMST.findMST(heap, TestGraphs.metrics(heap, "Kruskal")).mstEdges, kruskal.mstEdges);
+        assertEquals(Prim.findMST(offHeap, TestGraphs.metrics(offHeap, "Prim")).totalWeight, kruskal.totalWeight);
+    }
+
+    @Test
+    void testBuilderRejectsBadEdges() {
+        OffHeapGraphBuilder builder = new OffHeapGraphBuilder(1, 3, 1);
+        assertThrows(IllegalArgumentException.class, () -> builder.addEdge(0, 3, 1));
+        builder.addEdge(0, 2, 1);
+        assertThrows(IllegalStateException.class, () -> builder.addEdge(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapGraphBuilder(1, 3, OffHeapGraphBuilder.MAX_EDGES + 1));
+        assertEquals(1, builder.build().getEdgeCount());
+    }
+
+    private static void assertSameEdges(List<Edge> expected, List<Edge> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).u, actual.get(i).u);
+            assertEquals(expected.get(i).v, actual.get(i).v);
+            assertEquals(expected.get(i).weight, actual.get(i).weight);
+        }
+    }
+
+    private static int[] toArray(IntBuffer buffer) {
+        int[] a = new int[buffer.limit()];
+        for (int i = 0; i < a.length; i++) a[i] = buffer.get(i);
+        return a;
+    }
+}
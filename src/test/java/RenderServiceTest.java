@@ -0,0 +1,37 @@
+import org.example.Graph;
+import org.example.RenderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderServiceTest {
+
+    @Test
+    void testBlockPolicyRendersEveryGraph(@TempDir Path dir) throws InterruptedException {
+        System.setProperty("java.awt.headless", "true");
+        Graph graph = new Graph(1, 4, new int[]{0, 1, 2}, new int[]{1, 2, 3}, new int[]{5, 6, 7});
+        RenderService renderer = new RenderService(1, 1, RenderService.Policy.BLOCK);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(renderer.submit(graph, dir.resolve("graph_" + i + ".png").toString()));
+        }
+        renderer.close();
+
+        assertEquals(4, renderer.getSubmitted());
+        assertEquals(0, renderer.getDropped());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(Files.exists(dir.resolve("graph_" + i + ".png")));
+        }
+        assertFalse(renderer.submit(graph, dir.resolve("late.png").toString()));
+    }
+
+    @Test
+    void testPolicyFromName() {
+        assertEquals(RenderService.Policy.DROP_OLDEST, RenderService.Policy.fromName("drop-oldest"));
+        assertEquals(RenderService.Policy.SKIP, RenderService.Policy.fromName("Skip"));
+        assertThrows(IllegalArgumentException.class, () -> RenderService.Policy.fromName("never"));
+    }
+}
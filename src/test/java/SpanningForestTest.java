@@ -0,0 +1,93 @@
+import org.example.Edge;
+import org.example.Graph;
+import org.example.Kruskal;
+import org.example.KruskalMST;
+import org.example.Metrics;
+import org.example.MstCache;
+import org.example.PrimMST;
+import org.example.SpanningForest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpanningForestTest {
+
+    private static MstCache.Entry prim(Graph g, Metrics m) {
+        PrimMST.Result r = PrimMST.findMST(g, m);
+        return new MstCache.Entry(r.totalWeight, r.getMstEdges(), 0, 0);
+    }
+
+    @Test
+    void testForestCoversEveryComponent() {
+        // Components {0,1,2,3} (with a cycle and a self-loop), {4,5} (a tree), {6} and {7}.
+        Graph g = new Graph(1, 8,
+                new int[]{0, 1, 2, 3, 0, 5, 2},
+                new int[]{1, 2, 3, 0, 0, 4, 0},
+                new int[]{4, 1, 3, 2, 9, 7, 5});
+        SpanningForest.Result r = SpanningForest.findForest(g, TestGraphs.metrics(g, "Prim"), SpanningForestTest::prim);
+
+        assertEquals(4, r.getComponentCount());
+        assertEquals(2, r.singletons);
+        assertEquals(2, r.components.size());
+        SpanningForest.Component first = r.components.get(0);
+        assertEquals(0, first.id);
+        assertEquals(4, first.vertices);
+        assertEquals(5, first.edges);
+        assertEquals(1 + 2 + 3, first.totalWeight);
+        assertEquals(7, r.components.get(1).totalWeight);
+        assertEquals(13, r.totalWeight);
+        assertEquals(4, r.forestEdges.size());
+        assertEquals(r.componentOf[4], r.componentOf[5]);
+        assertNotEquals(r.componentOf[6], r.componentOf[7]);
+
+        // Heap Prim alone stops at vertex 0's component.
+        assertEquals(6, PrimMST.findMST(g, TestGraphs.metrics(g, "Prim")).totalWeight);
+    }
+
+    @Test
+    void testRandomForestMatchesKruskal() {
+        Random random = new Random(17);
+        int vertices = 3_000, m = 4_000;
+        int[] u = new int[m], v = new int[m], w = new int[m];
+        for (int i = 0; i < m; i++) {
+            // Edges only within blocks of 100 vertices, so there are at least 30 components.
+            int block = random.nextInt(vertices / 100) * 100;
+            u[i] = block + random.nextInt(100);
+            v[i] = block + random.nextInt(100);
+            w[i] = 1 + random.nextInt(1000);
+        }
+        Graph g = new Graph(2, vertices, u, v, w);
+        KruskalMST.Result expected = KruskalMST.findMST(g, TestGraphs.metrics(g, "Kruskal"));
+        SpanningForest.Result r;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            r = SpanningForest.findForest(g, TestGraphs.metrics(g, "Kruskal"),
+                    (sub, mm) -> {
+                        Kruskal.Result k = Kruskal.findMST(sub, mm);
+                        return new MstCache.Entry(k.totalWeight, k.mstEdges, 0, 0);
+                    }, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(expected.totalWeight, r.totalWeight);
+        assertEquals(expected.mstEdges.size(), r.forestEdges.size());
+        assertEquals(vertices - r.getComponentCount(), r.forestEdges.size());
+        int sum = 0;
+        for (SpanningForest.Component c : r.components) sum += c.totalWeight;
+        assertEquals(r.totalWeight, sum);
+        for (Edge e : r.forestEdges) assertEquals(r.componentOf[e.u], r.componentOf[e.v]);
+
+        SpanningForest.Result summary = SpanningForest.summarize(g, r.forestEdges);
+        assertEquals(r.getComponentCount(), summary.getComponentCount());
+        assertEquals(r.singletons, summary.singletons);
+        for (int i = 0; i < r.components.size(); i++) {
+            assertEquals(r.components.get(i).id, summary.components.get(i).id);
+            assertEquals(r.components.get(i).edges, summary.components.get(i).edges);
+            assertEquals(r.components.get(i).totalWeight, summary.components.get(i).totalWeight);
+        }
+    }
+}
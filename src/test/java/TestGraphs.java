@@ -0,0 +1,35 @@
+import org.example.Graph;
+import org.example.Metrics;
+
+import java.util.Random;
+
+/** Graph and metrics fixtures shared by the MST tests. */
+final class TestGraphs {
+
+    private TestGraphs() {}
+
+    static Metrics metrics(Graph g, String algorithm) {
+        return new Metrics(g.getId(), g.getVertices(), g.getEdgeCount(), algorithm);
+    }
+
+    /**
+     * A random spanning tree over {@code vertices} plus {@code extraEdges} random edges,
+     * self-loops and repeats included, with weights in {@code [1, maxWeight]}.
+     */
+    static Graph randomConnectedGraph(int id, int vertices, int extraEdges, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        int m = vertices - 1 + extraEdges;
+        int[] u = new int[m], v = new int[m], w = new int[m];
+        for (int i = 1; i < vertices; i++) {
+            u[i - 1] = random.nextInt(i);
+            v[i - 1] = i;
+            w[i - 1] = 1 + random.nextInt(maxWeight);
+        }
+        for (int i = vertices - 1; i < m; i++) {
+            u[i] = random.nextInt(vertices);
+            v[i] = random.nextInt(vertices);
+            w[i] = 1 + random.nextInt(maxWeight);
+        }
+        return new Graph(id, vertices, u, v, w);
+    }
+}